@@ -0,0 +1,238 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import javafx.beans.Observable;
+import javafx.beans.binding.Binding;
+import javafx.collections.transformation.TransformationList;
+
+/**
+ * Snapshot of the dependency graph of an observable, as returned by {@link EasyBind#inspect(Observable)}.
+ * <p>
+ * The graph contains the inspected observable and, transitively, everything it depends on: the dependencies
+ * reported by {@link Binding#getDependencies()} (including the currently selected observables of
+ * {@link EasyBind#mapObservable} and {@link EasyBind#select} bindings) and the sources of list transformations.
+ * Each node carries the metrics that are available for it. While {@link #setMetricsEnabled(boolean) metrics are
+ * enabled}, bindings created by EasyBind count their listeners, how often they were invalidated and recomputed and how
+ * long the recomputations took. For all observables, the number of EasyBind bindings that share a
+ * single listener on the observable is reported.
+ */
+public final class BindingGraph {
+    private static volatile boolean metricsEnabled = false;
+
+    private final List<Node> nodes;
+
+    private BindingGraph(List<Node> nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * Sets whether bindings created by EasyBind count their invalidations and measure their recomputations.
+     * Since this slightly slows down all bindings, it should only be enabled for debugging.
+     */
+    public static void setMetricsEnabled(boolean enabled) {
+        metricsEnabled = enabled;
+    }
+
+    public static boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    static BindingGraph of(Observable root) {
+        Map<Observable, Node> nodesByObservable = new IdentityHashMap<>();
+        List<Node> nodes = new ArrayList<>();
+        Deque<Observable> queue = new ArrayDeque<>();
+        nodesByObservable.put(root, new Node(0, root));
+        queue.add(root);
+
+        while (!queue.isEmpty()) {
+            Observable observable = queue.poll();
+            Node node = nodesByObservable.get(observable);
+            nodes.add(node);
+            for (Observable dependency : getDependencies(observable)) {
+                Node dependencyNode = nodesByObservable.get(dependency);
+                if (dependencyNode == null) {
+                    dependencyNode = new Node(nodesByObservable.size(), dependency);
+                    nodesByObservable.put(dependency, dependencyNode);
+                    queue.add(dependency);
+                }
+                node.dependencies.add(dependencyNode.id);
+            }
+        }
+        return new BindingGraph(Collections.unmodifiableList(nodes));
+    }
+
+    private static List<Observable> getDependencies(Observable observable) {
+        List<Observable> dependencies = new ArrayList<>();
+        if (observable instanceof Binding) {
+            for (Object dependency : ((Binding<?>) observable).getDependencies()) {
+                if (dependency instanceof Observable) {
+                    dependencies.add((Observable) dependency);
+                }
+            }
+        } else if (observable instanceof TransformationList) {
+            dependencies.add(((TransformationList<?, ?>) observable).getSource());
+        } else if (observable instanceof FlattenedList) {
+            FlattenedList<?> list = (FlattenedList<?>) observable;
+            dependencies.add(list.getSourceLists());
+            dependencies.addAll(list.getSourceLists());
+        }
+        return dependencies;
+    }
+
+    /**
+     * Returns the nodes of this graph. The first node is the inspected observable.
+     */
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Exports this graph in the DOT format of Graphviz. Edges point from a dependency to the observables depending on it.
+     */
+    public String toDot() {
+        StringBuilder dot = new StringBuilder("digraph bindings {\n");
+        for (Node node : nodes) {
+            dot.append("  n").append(node.id).append(" [label=\"").append(escape(node.type));
+            node.getListenerCount().ifPresent(count -> dot.append("\\nlisteners: ").append(count));
+            if (node.sharedListenerCount > 0) {
+                dot.append("\\nshared listeners: ").append(node.sharedListenerCount);
+            }
+            node.getInvalidationCount().ifPresent(count -> dot.append("\\ninvalidations: ").append(count));
+            node.getRecomputeCount().ifPresent(count -> dot.append("\\nrecomputations: ").append(count));
+            node.getRecomputeNanos().ifPresent(nanos -> dot.append("\\nrecompute time: ").append(nanos / 1000).append(" us"));
+            dot.append("\"];\n");
+        }
+        for (Node node : nodes) {
+            for (int dependency : node.dependencies) {
+                dot.append("  n").append(dependency).append(" -> n").append(node.id).append(";\n");
+            }
+        }
+        return dot.append("}\n").toString();
+    }
+
+    /**
+     * Exports this graph as JSON object with an array of {@code nodes}. Metrics that are not available are {@code null}.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"nodes\":[");
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(node.id)
+                .append(",\"type\":\"").append(escape(node.type)).append('"')
+                .append(",\"listeners\":").append(node.listenerCount >= 0 ? String.valueOf(node.listenerCount) : "null")
+                .append(",\"sharedListeners\":").append(node.sharedListenerCount)
+                .append(",\"invalidations\":").append(node.getInvalidationCount().isPresent() ? String.valueOf(node.invalidationCount) : "null")
+                .append(",\"recomputations\":").append(node.getRecomputeCount().isPresent() ? String.valueOf(node.recomputeCount) : "null")
+                .append(",\"recomputeNanos\":").append(node.getRecomputeNanos().isPresent() ? String.valueOf(node.recomputeNanos) : "null")
+                .append(",\"dependencies\":").append(node.dependencies.toString().replace(" ", ""))
+                .append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * An observable in the dependency graph together with its metrics.
+     */
+    public static final class Node {
+        private final int id;
+        private final String type;
+        private final List<Integer> dependencies = new ArrayList<>();
+        // -1 if not available
+        private final int listenerCount;
+        private final int sharedListenerCount;
+        private final long invalidationCount;
+        private final long recomputeCount;
+        private final long recomputeNanos;
+
+        private Node(int id, Observable observable) {
+            this.id = id;
+            Class<?> clazz = observable.getClass();
+            this.type = clazz.getSimpleName().isEmpty() ? clazz.getName() : clazz.getSimpleName();
+            this.sharedListenerCount = InvalidationMultiplexer.getSubscriberCount(observable);
+            if (observable instanceof LazyObjectBinding) {
+                LazyObjectBinding<?> binding = (LazyObjectBinding<?>) observable;
+                this.listenerCount = binding.getListenerCount();
+                this.invalidationCount = binding.getInvalidationCount();
+                this.recomputeCount = binding.getRecomputeCount();
+                this.recomputeNanos = binding.getRecomputeNanos();
+            } else {
+                this.listenerCount = -1;
+                this.invalidationCount = -1;
+                this.recomputeCount = -1;
+                this.recomputeNanos = -1;
+            }
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * Returns the (simple) class name of the observable.
+         */
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * Returns the ids of the nodes this node depends on.
+         */
+        public List<Integer> getDependencies() {
+            return Collections.unmodifiableList(dependencies);
+        }
+
+        /**
+         * Returns the number of listeners that are directly registered at the observable, if known. The number is
+         * only known for bindings created by EasyBind whose listeners were added and removed while metrics were enabled.
+         * It is based on the calls to add and remove listeners, so it does not notice removals of listeners that were
+         * never added or of weak listeners that were garbage collected.
+         */
+        public OptionalInt getListenerCount() {
+            return listenerCount >= 0 ? OptionalInt.of(listenerCount) : OptionalInt.empty();
+        }
+
+        /**
+         * Returns the number of EasyBind bindings that share a single listener on the observable.
+         */
+        public int getSharedListenerCount() {
+            return sharedListenerCount;
+        }
+
+        /**
+         * Returns how often the observable was invalidated while metrics were enabled, if known.
+         */
+        public OptionalLong getInvalidationCount() {
+            return invalidationCount >= 0 ? OptionalLong.of(invalidationCount) : OptionalLong.empty();
+        }
+
+        /**
+         * Returns how often the value of the observable was recomputed while metrics were enabled, if known.
+         */
+        public OptionalLong getRecomputeCount() {
+            return recomputeCount >= 0 ? OptionalLong.of(recomputeCount) : OptionalLong.empty();
+        }
+
+        /**
+         * Returns the total time in nanoseconds spent recomputing the value of the observable (including the
+         * recomputation of its invalid dependencies) while metrics were enabled, if known.
+         */
+        public OptionalLong getRecomputeNanos() {
+            return recomputeNanos >= 0 ? OptionalLong.of(recomputeNanos) : OptionalLong.empty();
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.Property;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+
+import com.tobiasdiez.easybind.select.SelectBuilder;
+
+/**
+ * Controls how bindings listen to their sources.
+ * <p>
+ * A {@code BindingLifecycle} is an immutable set of options together with factory methods that create bindings with
+ * these options. The static methods of {@link EasyBind} create their bindings with the {@link #DEFAULT} options, so
+ * that choosing other options for some bindings does not affect any other code:
+ * <pre>
+ * {@code
+ * BindingLifecycle lazy = BindingLifecycle.DEFAULT.withLazy(true);
+ * EasyBinding<Integer> length = lazy.map(text, String::length);
+ * }
+ * </pre>
+ * <p>
+ * By default, bindings created by {@link #mapObservable}, {@link #selectProperty} and
+ * {@link #combine(ObservableList, Function)} only hold weak listeners on their sources, so that they can be garbage
+ * collected once they are no longer used. In the explicit lifecycle mode (see {@link #withExplicit(boolean)}), these
+ * bindings register plain listeners instead. This saves the weak references and their cleanup, but a binding then
+ * stays reachable from its sources and has to be disposed explicitly using {@link EasyBinding#dispose()}.
+ * <p>
+ * In the lazy mode (see {@link #withLazy(boolean)}), bindings created by {@link #map}, {@link #combine},
+ * {@link #reduce}, {@link #mapObservable} and {@link #select} only listen to their sources while they have at least
+ * one listener. While they are not observed, their value is computed on demand. Thus bindings that are no longer used
+ * do not receive notifications, and, in combination with the explicit lifecycle mode, do not need to be disposed in
+ * order to be garbage collected once they are no longer observed.
+ * <p>
+ * To find bindings that are never disposed, the bindings created in the explicit lifecycle mode can be recorded in a
+ * registry using {@link #trackUndisposedBindings(int)}. A binding stays in the registry until it is disposed, no matter
+ * whether it is still reachable, and for some of them the registry also records where they were created.
+ */
+public final class BindingLifecycle {
+    /**
+     * The options used by {@link EasyBind}: bindings listen to their sources from their creation on and only hold
+     * weak listeners on them.
+     */
+    public static final BindingLifecycle DEFAULT = new BindingLifecycle(false, false);
+
+    private static volatile boolean tracking = false;
+    private static volatile int samplingInterval = 1;
+    private static final AtomicLong ALLOCATIONS = new AtomicLong();
+    private static final Set<UndisposedBinding> UNDISPOSED = ConcurrentHashMap.newKeySet();
+
+    private final boolean lazy;
+    private final boolean explicit;
+
+    private BindingLifecycle(boolean lazy, boolean explicit) {
+        this.lazy = lazy;
+        this.explicit = explicit;
+    }
+
+    /**
+     * Returns options that differ from these only in whether bindings only listen to their sources while they are observed.
+     */
+    public BindingLifecycle withLazy(boolean lazy) {
+        return new BindingLifecycle(lazy, explicit);
+    }
+
+    /**
+     * Returns whether bindings created with these options only listen to their sources while they are observed.
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Returns options that differ from these only in whether bindings use plain listeners and have to be disposed explicitly.
+     */
+    public BindingLifecycle withExplicit(boolean explicit) {
+        return new BindingLifecycle(lazy, explicit);
+    }
+
+    /**
+     * Returns whether bindings created with these options use plain listeners and have to be disposed explicitly.
+     */
+    public boolean isExplicit() {
+        return explicit;
+    }
+
+    /**
+     * Like {@link EasyBind#map(ObservableValue, Function)}, but creates the binding with these options.
+     */
+    public <T, U> EasyBinding<U> map(ObservableValue<T> source, Function<? super T, ? extends U> mapper) {
+        if (source instanceof MapBinding) {
+            // Compose with the mapping of the source to avoid creating a chain of bindings
+            @SuppressWarnings("unchecked")
+            MapBinding<?, T> mapBinding = (MapBinding<?, T>) source;
+            return mapBinding.compose(mapper, lazy);
+        }
+        return new MapBinding<>(source, mapper, lazy);
+    }
+
+    /**
+     * Like {@link EasyBind#mapObservable(ObservableValue, Function)}, but creates the binding with these options.
+     */
+    public <T, O, R extends ObservableValue<O>> EasyBinding<O> mapObservable(ObservableValue<T> source, Function<? super T, R> mapper) {
+        return new FlatMapBinding<>(source, mapper, this);
+    }
+
+    /**
+     * Like {@link EasyBind#selectProperty(ObservableValue, Function)}, but creates the binding with these options.
+     * The binding is never lazy, since the selected property has to be kept bound even if the binding is not observed.
+     */
+    public <T, U> PropertyBinding<U> selectProperty(ObservableValue<T> source, Function<? super T, ? extends Property<U>> mapper) {
+        return new FlatMapProperty<>(source, mapper, this);
+    }
+
+    /**
+     * Like {@link EasyBind#combine(ObservableValue, ObservableValue, BiFunction)}, but creates the binding with these options.
+     */
+    public <A, B, R> EasyBinding<R> combine(ObservableValue<A> src1, ObservableValue<B> src2, BiFunction<A, B, R> f) {
+        return new EasyPreboundBinding<R>(lazy, src1, src2) {
+            @Override
+            protected R computeValue() {
+                return f.apply(src1.getValue(), src2.getValue());
+            }
+        };
+    }
+
+    /**
+     * Like {@link EasyBind#combine(ObservableValue, ObservableValue, ObservableValue, EasyBind.TriFunction)}, but creates the binding with these options.
+     */
+    public <A, B, C, R> EasyBinding<R> combine(ObservableValue<A> src1, ObservableValue<B> src2, ObservableValue<C> src3, EasyBind.TriFunction<A, B, C, R> f) {
+        return new EasyPreboundBinding<R>(lazy, src1, src2, src3) {
+            @Override
+            protected R computeValue() {
+                return f.apply(src1.getValue(), src2.getValue(), src3.getValue());
+            }
+        };
+    }
+
+    /**
+     * Like {@link EasyBind#combine(ObservableValue, ObservableValue, ObservableValue, ObservableValue, EasyBind.TetraFunction)}, but creates the binding with these options.
+     */
+    public <A, B, C, D, R> EasyBinding<R> combine(ObservableValue<A> src1, ObservableValue<B> src2, ObservableValue<C> src3, ObservableValue<D> src4, EasyBind.TetraFunction<A, B, C, D, R> f) {
+        return new EasyPreboundBinding<R>(lazy, src1, src2, src3, src4) {
+            @Override
+            protected R computeValue() {
+                return f.apply(src1.getValue(), src2.getValue(), src3.getValue(), src4.getValue());
+            }
+        };
+    }
+
+    /**
+     * Like {@link EasyBind#combine(ObservableValue, ObservableValue, ObservableValue, ObservableValue, ObservableValue, EasyBind.PentaFunction)}, but creates the binding with these options.
+     */
+    public <A, B, C, D, E, R> EasyBinding<R> combine(ObservableValue<A> src1, ObservableValue<B> src2, ObservableValue<C> src3, ObservableValue<D> src4, ObservableValue<E> src5, EasyBind.PentaFunction<A, B, C, D, E, R> f) {
+        return new EasyPreboundBinding<R>(lazy, src1, src2, src3, src4, src5) {
+            @Override
+            protected R computeValue() {
+                return f.apply(src1.getValue(), src2.getValue(), src3.getValue(), src4.getValue(), src5.getValue());
+            }
+        };
+    }
+
+    /**
+     * Like {@link EasyBind#combine(ObservableValue, ObservableValue, ObservableValue, ObservableValue, ObservableValue, ObservableValue, EasyBind.HexaFunction)}, but creates the binding with these options.
+     */
+    public <A, B, C, D, E, F, R> EasyBinding<R> combine(ObservableValue<A> src1, ObservableValue<B> src2, ObservableValue<C> src3, ObservableValue<D> src4, ObservableValue<E> src5, ObservableValue<F> src6, EasyBind.HexaFunction<A, B, C, D, E, F, R> f) {
+        return new EasyPreboundBinding<R>(lazy, src1, src2, src3, src4, src5, src6) {
+            @Override
+            protected R computeValue() {
+                return f.apply(src1.getValue(), src2.getValue(), src3.getValue(), src4.getValue(), src5.getValue(), src6.getValue());
+            }
+        };
+    }
+
+    /**
+     * Like {@link EasyBind#combine(ObservableList, Function)}, but creates the binding with these options.
+     */
+    public <T, R> EasyBinding<R> combine(ObservableList<? extends ObservableValue<? extends T>> list, Function<? super Stream<T>, ? extends R> f) {
+        return new ListCombinationBinding<>(list, f, this);
+    }
+
+    /**
+     * Like {@link EasyBind#reduce(ObservableList, Function)}, but creates the binding with these options.
+     */
+    public <T, R> EasyBinding<R> reduce(ObservableList<? extends T> list, Function<? super Stream<? extends T>, ? extends R> accumulator) {
+        return new EasyPreboundBinding<R>(lazy, list) {
+            @Override
+            protected R computeValue() {
+                return accumulator.apply(list.stream());
+            }
+        };
+    }
+
+    /**
+     * Like {@link EasyBind#select(ObservableValue)}, but the selection binding is created with these options.
+     */
+    public <T> SelectBuilder<T> select(ObservableValue<T> selectionRoot) {
+        return SelectBuilder.startAt(selectionRoot, this);
+    }
+
+    /**
+     * Like {@link EasyBind#selectReusingUnchanged(ObservableValue)}, but the selection binding is created with these options.
+     */
+    public <T> SelectBuilder<T> selectReusingUnchanged(ObservableValue<T> selectionRoot) {
+        return SelectBuilder.startAtReusingUnchanged(selectionRoot, this);
+    }
+
+    /**
+     * Starts recording the bindings created in the explicit lifecycle mode in a registry until they are disposed.
+     * The registry only keeps the type and the allocation site of a binding, not the binding itself, so that it does
+     * not keep the binding alive. Since recording the allocation site of a binding is expensive, it is only recorded
+     * for every {@code samplingInterval}-th binding.
+     *
+     * @param samplingInterval the interval in which allocation sites are recorded, use 1 to record all of them
+     */
+    public static void trackUndisposedBindings(int samplingInterval) {
+        if (samplingInterval < 1) {
+            throw new IllegalArgumentException("The sampling interval has to be positive but was " + samplingInterval);
+        }
+        BindingLifecycle.samplingInterval = samplingInterval;
+        tracking = true;
+    }
+
+    /**
+     * Stops recording newly created bindings. Bindings recorded so far are still reported until they are disposed.
+     */
+    public static void stopTrackingUndisposedBindings() {
+        tracking = false;
+    }
+
+    /**
+     * Returns the recorded bindings that have not been disposed yet, including bindings that were garbage collected
+     * without being disposed.
+     */
+    public static List<UndisposedBinding> getUndisposedBindings() {
+        return new ArrayList<>(UNDISPOSED);
+    }
+
+    /**
+     * Records the given binding in the registry of undisposed bindings if the tracking is enabled.
+     *
+     * @return a subscription that has to be unsubscribed when the binding is disposed
+     */
+    static Subscription registerUndisposed(Object binding) {
+        if (!tracking) {
+            return Subscription.EMPTY;
+        }
+
+        boolean sampled = ALLOCATIONS.getAndIncrement() % samplingInterval == 0;
+        UndisposedBinding undisposed = new UndisposedBinding(binding.getClass(), sampled ? new Throwable("Binding created here") : null);
+        UNDISPOSED.add(undisposed);
+        return () -> UNDISPOSED.remove(undisposed);
+    }
+
+    /**
+     * Adds the {@code listener} to the {@code source}, either directly in the explicit lifecycle mode
+     * or weakly through the {@link InvalidationMultiplexer} of the source.
+     */
+    static Subscription observe(Observable source, InvalidationListener listener, boolean explicit) {
+        if (explicit) {
+            source.addListener(listener);
+            return () -> source.removeListener(listener);
+        } else {
+            return InvalidationMultiplexer.subscribe(source, listener);
+        }
+    }
+
+    /**
+     * Adds the {@code listener} to the {@code list}, either directly in the explicit lifecycle mode or weakly otherwise.
+     */
+    static <E> Subscription observeList(ObservableList<? extends E> list, ListChangeListener<? super E> listener, boolean explicit) {
+        ListChangeListener<? super E> registered = explicit ? listener : new WeakListChangeListener<>(listener);
+        list.addListener(registered);
+        return () -> list.removeListener(registered);
+    }
+
+    /**
+     * An entry of the registry for a binding that was created in the explicit lifecycle mode but has not been disposed yet.
+     */
+    public static final class UndisposedBinding {
+        private final Class<?> type;
+        private final Throwable allocationSite;
+
+        private UndisposedBinding(Class<?> type, Throwable allocationSite) {
+            this.type = type;
+            this.allocationSite = allocationSite;
+        }
+
+        /**
+         * Returns the class of the binding.
+         */
+        public Class<?> getType() {
+            return type;
+        }
+
+        /**
+         * Returns a throwable whose stack trace shows where the binding was created,
+         * or an empty optional if the allocation site was not sampled.
+         */
+        public Optional<Throwable> getAllocationSite() {
+            return Optional.ofNullable(allocationSite);
+        }
+    }
+}
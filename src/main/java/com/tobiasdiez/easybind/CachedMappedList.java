@@ -0,0 +1,260 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import javafx.collections.ListChangeListener.Change;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.TransformationList;
+
+/**
+ * Mapped view of a list that caches a bounded number of mapped elements, as returned by {@link EasyBind#mapCached}.
+ * <p>
+ * Like the list returned by {@link EasyBind#map(ObservableList, Function)}, the elements are converted when they are
+ * accessed, but the results of the most recently accessed elements are kept in a least-recently-used cache with at
+ * most {@link #getMaxEntries()} entries. This is a middle ground between {@link EasyBind#map(ObservableList, Function)},
+ * which keeps no converted elements, and {@link EasyBind#mapBacked(ObservableList, Function)}, which keeps all of them.
+ * <p>
+ * The cache is keyed by the identity of the source elements, so that it stays valid if elements are added, removed or
+ * moved in the source list. The entries of removed source elements are discarded and the entry of a source element is
+ * recomputed if the source list reports an update of this element.
+ *
+ * @param <E> the type of the converted elements
+ * @param <F> the type of the source elements
+ */
+public final class CachedMappedList<E, F> extends TransformationList<E, F> implements EasyObservableList<E> {
+    private final Function<? super F, ? extends E> mapper;
+    private final int maxEntries;
+    private final Map<Key, E> cache;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    CachedMappedList(ObservableList<? extends F> source, Function<? super F, ? extends E> mapper, int maxEntries) {
+        super(source);
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("The maximal number of cached entries has to be positive but was " + maxEntries);
+        }
+        this.mapper = mapper;
+        this.maxEntries = maxEntries;
+        this.cache = new LinkedHashMap<Key, E>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, E> eldest) {
+                if (size() > CachedMappedList.this.maxEntries) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the maximal number of converted elements that are kept in the cache.
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Returns the number of converted elements that are currently kept in the cache.
+     */
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * Returns how often an element was accessed whose converted value was found in the cache.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns how often an element was accessed whose converted value was not found in the cache and had to be computed.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns how often a converted element was removed from the cache to make room for a more recently accessed one.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public int getSourceIndex(int index) {
+        return index;
+    }
+
+    @Override
+    public int getViewIndex(int index) {
+        return index;
+    }
+
+    @Override
+    public E get(int index) {
+        F element = getSource().get(index);
+        Key key = new Key(element);
+        E value = cache.get(key);
+        if (value != null || cache.containsKey(key)) {
+            hitCount++;
+            return value;
+        }
+
+        missCount++;
+        value = mapper.apply(element);
+        cache.put(key, value);
+        return value;
+    }
+
+    @Override
+    public int size() {
+        return getSource().size();
+    }
+
+    /**
+     * Returns the converted value of a removed source element, preferably from the cache but without counting the
+     * access or refreshing the entry.
+     */
+    private E convertRemoved(F element) {
+        Key key = new Key(element);
+        E value = cache.get(key);
+        if (value != null || cache.containsKey(key)) {
+            return value;
+        }
+        return mapper.apply(element);
+    }
+
+    @Override
+    protected void sourceChanged(Change<? extends F> c) {
+        // Updated elements have to be converted again when they are accessed by the listeners
+        while (c.next()) {
+            if (c.wasUpdated()) {
+                for (int i = c.getFrom(); i < c.getTo(); i++) {
+                    cache.remove(new Key(getSource().get(i)));
+                }
+            }
+        }
+        c.reset();
+
+        fireChange(new Change<E>(this) {
+
+            @Override
+            public boolean wasAdded() {
+                return c.wasAdded();
+            }
+
+            @Override
+            public boolean wasRemoved() {
+                return c.wasRemoved();
+            }
+
+            @Override
+            public boolean wasReplaced() {
+                return c.wasReplaced();
+            }
+
+            @Override
+            public boolean wasUpdated() {
+                return c.wasUpdated();
+            }
+
+            @Override
+            public boolean wasPermutated() {
+                return c.wasPermutated();
+            }
+
+            @Override
+            public int getPermutation(int i) {
+                return c.getPermutation(i);
+            }
+
+            @Override
+            protected int[] getPermutation() {
+                // This method is only called by the superclass methods
+                // wasPermutated() and getPermutation(int), which are
+                // both overriden by this class. There is no other way
+                // this method can be called.
+                throw new AssertionError("Unreachable code");
+            }
+
+            @Override
+            public List<E> getRemoved() {
+                ArrayList<E> res = new ArrayList<>(c.getRemovedSize());
+                for (F e : c.getRemoved()) {
+                    res.add(convertRemoved(e));
+                }
+                return res;
+            }
+
+            @Override
+            public int getFrom() {
+                return c.getFrom();
+            }
+
+            @Override
+            public int getTo() {
+                return c.getTo();
+            }
+
+            @Override
+            public boolean next() {
+                return c.next();
+            }
+
+            @Override
+            public void reset() {
+                c.reset();
+            }
+        });
+
+        // The listeners may have asked for the removed elements, so their entries are only discarded now
+        // (except for elements that were added again, e.g. by a sort of the source list)
+        Set<Key> removed = new HashSet<>();
+        c.reset();
+        while (c.next()) {
+            if (c.wasRemoved()) {
+                for (F element : c.getRemoved()) {
+                    removed.add(new Key(element));
+                }
+            }
+        }
+        c.reset();
+        while (c.next()) {
+            if (c.wasAdded()) {
+                for (F element : c.getAddedSubList()) {
+                    removed.remove(new Key(element));
+                }
+            }
+        }
+        cache.keySet().removeAll(removed);
+    }
+
+    /**
+     * Key of the cache that compares the source elements by identity.
+     */
+    private static final class Key {
+        private final Object element;
+
+        Key(Object element) {
+            this.element = element;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(element);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key && ((Key) obj).element == element;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.TransformationList;
+
+/**
+ * View of a list that contains every element (compared by {@link Object#equals(Object)}) only once, in the order of
+ * their first occurrence in the source list.
+ * <p>
+ * For every distinct element, the occurrences in the source list are tracked in a hash map, so that every added,
+ * removed or updated source element is processed in polylogarithmic time and results in a change of only the affected
+ * positions of this list. The source elements are kept in a {@link PositionTree}, in which the first occurrences are
+ * marked. A permutation of the source rebuilds the occurrences in linear time.
+ * As for a {@link java.util.HashSet}, the elements must not change their {@code equals} and {@code hashCode} while they
+ * are in the source list; updated elements are supported as long as the source list reports them as new instances or
+ * through an update event.
+ */
+class DistinctList<E> extends TransformationList<E, E> implements EasyObservableList<E> {
+    // the source elements, where the first occurrences are marked
+    private final PositionTree<E> tree = new PositionTree<>();
+    private final Comparator<PositionTree.Node<E>> byPosition = Comparator.comparingInt(tree::rank);
+    // the occurrences of every distinct element, ordered by their position in the source list
+    private final Map<E, TreeSet<PositionTree.Node<E>>> occurrences = new HashMap<>();
+
+    public DistinctList(ObservableList<? extends E> source) {
+        super(source);
+        initialize();
+    }
+
+    private void initialize() {
+        tree.clear();
+        occurrences.clear();
+        List<? extends E> source = getSource();
+        for (int i = 0; i < source.size(); i++) {
+            PositionTree.Node<E> node = new PositionTree.Node<>(source.get(i));
+            tree.insert(i, node);
+            TreeSet<PositionTree.Node<E>> nodes = occurrences.computeIfAbsent(node.element, key -> new TreeSet<>(byPosition));
+            if (nodes.isEmpty()) {
+                tree.setMarked(node, true);
+            }
+            nodes.add(node);
+        }
+    }
+
+    @Override
+    public E get(int index) {
+        return tree.getMarked(index).element;
+    }
+
+    @Override
+    public int size() {
+        return tree.markedCount();
+    }
+
+    @Override
+    public int getSourceIndex(int index) {
+        return tree.rank(tree.getMarked(index));
+    }
+
+    /**
+     * Returns the index of the given source element in this list, or {@code -1} if the source element is not the
+     * first occurrence of an element.
+     */
+    @Override
+    public int getViewIndex(int index) {
+        PositionTree.Node<E> node = tree.get(index);
+        return node.marked ? tree.markedRank(node) : -1;
+    }
+
+    @Override
+    protected void sourceChanged(ListChangeListener.Change<? extends E> change) {
+        beginChange();
+        while (change.next()) {
+            int from = change.getFrom();
+            if (change.wasPermutated()) {
+                permute();
+            } else if (change.wasUpdated()) {
+                for (int i = from; i < change.getTo(); i++) {
+                    update(tree.get(i), getSource().get(i));
+                }
+            } else {
+                removeSourceElements(from, from + change.getRemovedSize());
+                for (int i = from; i < change.getTo(); i++) {
+                    PositionTree.Node<E> node = new PositionTree.Node<>(getSource().get(i));
+                    tree.insert(i, node);
+                    addOccurrence(node);
+                }
+            }
+        }
+        endChange();
+    }
+
+    private void update(PositionTree.Node<E> node, E element) {
+        if (Objects.equals(node.element, element)) {
+            node.element = element;
+            if (node.marked) {
+                nextUpdate(tree.markedRank(node));
+            }
+        } else {
+            removeOccurrence(node);
+            node.element = element;
+            addOccurrence(node);
+        }
+    }
+
+    /**
+     * Registers the given node, which is already part of the tree, as an occurrence of its element.
+     */
+    private void addOccurrence(PositionTree.Node<E> node) {
+        TreeSet<PositionTree.Node<E>> nodes = occurrences.computeIfAbsent(node.element, key -> new TreeSet<>(byPosition));
+        if (nodes.isEmpty()) {
+            tree.setMarked(node, true);
+            int index = tree.markedRank(node);
+            nextAdd(index, index + 1);
+        } else if (tree.rank(node) < tree.rank(nodes.first())) {
+            // The new occurrence comes before the current first occurrence, which thus moves to the new position
+            PositionTree.Node<E> oldFirst = nodes.first();
+            int oldIndex = tree.markedRank(oldFirst);
+            tree.setMarked(oldFirst, false);
+            nextRemove(oldIndex, oldFirst.element);
+            tree.setMarked(node, true);
+            int index = tree.markedRank(node);
+            nextAdd(index, index + 1);
+        }
+        nodes.add(node);
+    }
+
+    /**
+     * Unregisters the given node as an occurrence of its element. The node has to be still part of the tree.
+     */
+    private void removeOccurrence(PositionTree.Node<E> node) {
+        TreeSet<PositionTree.Node<E>> nodes = occurrences.get(node.element);
+        nodes.remove(node);
+        if (!node.marked) {
+            return;
+        }
+
+        int oldIndex = tree.markedRank(node);
+        tree.setMarked(node, false);
+        nextRemove(oldIndex, node.element);
+        if (nodes.isEmpty()) {
+            occurrences.remove(node.element);
+        } else {
+            // The next occurrence takes over
+            PositionTree.Node<E> newFirst = nodes.first();
+            tree.setMarked(newFirst, true);
+            int index = tree.markedRank(newFirst);
+            nextAdd(index, index + 1);
+        }
+    }
+
+    /**
+     * Removes the source elements between {@code from} and {@code to}. All removed nodes are unregistered before any
+     * occurrence takes over, since the next occurrence of a removed element may be removed as well.
+     */
+    private void removeSourceElements(int from, int to) {
+        List<PositionTree.Node<E>> removed = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            removed.add(tree.get(i));
+        }
+
+        List<E> replaced = new ArrayList<>();
+        for (PositionTree.Node<E> node : removed) {
+            occurrences.get(node.element).remove(node);
+            if (node.marked) {
+                int index = tree.markedRank(node);
+                tree.setMarked(node, false);
+                nextRemove(index, node.element);
+                replaced.add(node.element);
+            }
+        }
+        for (PositionTree.Node<E> node : removed) {
+            tree.remove(node);
+        }
+
+        for (E element : replaced) {
+            TreeSet<PositionTree.Node<E>> nodes = occurrences.get(element);
+            if (nodes.isEmpty()) {
+                occurrences.remove(element);
+            } else {
+                // The next remaining occurrence takes over
+                PositionTree.Node<E> newFirst = nodes.first();
+                tree.setMarked(newFirst, true);
+                int index = tree.markedRank(newFirst);
+                nextAdd(index, index + 1);
+            }
+        }
+    }
+
+    private void permute() {
+        // The relative order of the occurrences changed, so that they have to be rebuilt
+        // This does not change the distinct elements, but their order and possibly the instances of the first occurrences
+        List<E> oldElements = new ArrayList<>(this);
+        Map<E, Integer> oldIndices = new HashMap<>();
+        for (int i = 0; i < oldElements.size(); i++) {
+            oldIndices.put(oldElements.get(i), i);
+        }
+
+        initialize();
+
+        int[] permutation = new int[oldElements.size()];
+        for (int i = 0; i < size(); i++) {
+            permutation[oldIndices.get(get(i))] = i;
+        }
+        nextPermutation(0, permutation.length, permutation);
+        for (int i = 0; i < oldElements.size(); i++) {
+            E oldElement = oldElements.get(i);
+            if (get(permutation[i]) != oldElement) {
+                nextSet(permutation[i], oldElement);
+            }
+        }
+    }
+}
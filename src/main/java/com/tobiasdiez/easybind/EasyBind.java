@@ -1,5 +1,6 @@
 package com.tobiasdiez.easybind;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -11,9 +12,11 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.Property;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableIntegerValue;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
@@ -28,6 +31,14 @@ import com.tobiasdiez.easybind.select.SelectBuilder;
 
 /**
  * Methods for easy creation of bindings.
+ * <p>
+ * Bindings created by {@link #mapObservable}, {@link #selectProperty}, {@link #combine(ObservableList, Function)}
+ * and {@link #firstNonNull} do not add a listener per binding to their sources. Instead, all bindings observing the
+ * same source share a single listener, which is added to the source when the first of them subscribes to it.
+ * Thus, when the source is invalidated, these bindings are notified one after another at the position of the
+ * shared listener, in the order in which they subscribed, and not at the position at which they would have added
+ * their own listener relative to other listeners of the source. Code that has to run before or after such a binding
+ * is invalidated should listen to the binding itself instead of relying on the order of the listeners of the source.
  */
 public class EasyBind {
 
@@ -244,12 +255,7 @@ public class EasyBind {
      * @see #mapObservable(ObservableValue, Function)
      */
     public static <T, U> EasyBinding<U> map(ObservableValue<T> source, Function<? super T, ? extends U> mapper) {
-        return new EasyPreboundBinding<U>(source) {
-            @Override
-            protected U computeValue() {
-                return mapper.apply(source.getValue());
-            }
-        };
+        return BindingLifecycle.DEFAULT.map(source, mapper);
     }
 
     /**
@@ -263,7 +269,7 @@ public class EasyBind {
      * @see #map(ObservableValue, Function)
      */
     public static <T, O, R extends ObservableValue<O>> EasyBinding<O> mapObservable(ObservableValue<T> source, Function<? super T, R> mapper) {
-        return new FlatMapBinding<>(source, mapper);
+        return BindingLifecycle.DEFAULT.mapObservable(source, mapper);
     }
 
     /**
@@ -288,7 +294,7 @@ public class EasyBind {
      * prevent it from being garbage collected.
      */
     public static <T, U> PropertyBinding<U> selectProperty(ObservableValue<T> source, Function<? super T, ? extends Property<U>> mapper) {
-        return new FlatMapProperty<>(source, mapper);
+        return BindingLifecycle.DEFAULT.selectProperty(source, mapper);
     }
 
     public static <T, U> EasyObservableList<U> map(ObservableList<? extends T> sourceList, Function<? super T, ? extends U> f) {
@@ -316,53 +322,82 @@ public class EasyBind {
         return new MappedBackedList<>(source, mapper);
     }
 
+    /**
+     * Creates a new list in which each element is converted using the provided mapping, see
+     * {@link #mapBacked(ObservableList, Function)}.
+     * <p>
+     * In contrast to {@link #mapBacked(ObservableList, Function)}, the converted items are only softly referenced,
+     * so that the garbage collector may reclaim them when memory runs low. A reclaimed item is converted again when it
+     * is accessed. Thus, for large lists, the memory consumption adapts to the available memory at the cost of
+     * repeating the conversion of reclaimed items. The content of the list and the fired changes are the same as for
+     * {@link #mapBacked(ObservableList, Function)}, except that a reclaimed item is replaced by a new converted instance.
+     */
+    public static <A, B> EasyObservableList<B> mapBackedSoft(ObservableList<A> source, Function<A, B> mapper) {
+        return new SoftMappedBackedList<>(source, mapper);
+    }
+
+    /**
+     * Creates a new list in which each element is converted using the provided mapping.
+     * All changes to the underlying list are propagated to the converted list.
+     * <p>
+     * As for {@link #map(ObservableList, Function)}, the items are converted when they are accessed,
+     * but the converted items of the {@code maxEntries} most recently accessed source elements are cached.
+     * Thus, for a large list with an expensive mapping, the mapping is not repeated for frequently accessed items
+     * while the memory consumption stays bounded, in contrast to {@link #mapBacked(ObservableList, Function)}.
+     * The returned list exposes the number of cache hits, misses and evictions.
+     *
+     * @param maxEntries the maximal number of converted items to cache
+     * @throws IllegalArgumentException if {@code maxEntries} is not positive
+     */
+    public static <T, U> CachedMappedList<U, T> mapCached(ObservableList<? extends T> source, Function<? super T, ? extends U> mapper, int maxEntries) {
+        return new CachedMappedList<>(source, mapper, maxEntries);
+    }
+
+    /**
+     * Creates a new list that contains the combinations of all pairs of elements of the two lists with equal keys,
+     * similar to an inner join of two tables in a database.
+     * <p>
+     * In contrast to combining the two lists via {@link #combine} or {@link #reduce}, the joined list is maintained
+     * incrementally by indexing the elements of both lists by their key in hash maps: a change of an element of either
+     * list only creates, removes or recomputes the rows combining this element. Initially, the rows are ordered by the
+     * left and then by the right element, and rows created by later changes are appended at the end of the list.
+     * If one of the lists reports an update of an element, its key and the rows combining it are recomputed.
+     *
+     * @param left     the left list
+     * @param right    the right list
+     * @param leftKey  the function computing the key of an element of the left list
+     * @param rightKey the function computing the key of an element of the right list
+     * @param combiner the function combining two elements with equal keys to a row
+     * @return the joined list
+     */
+    public static <L, R, K, T> EasyObservableList<T> join(ObservableList<? extends L> left, ObservableList<? extends R> right,
+                                                         Function<? super L, ? extends K> leftKey, Function<? super R, ? extends K> rightKey,
+                                                         BiFunction<? super L, ? super R, ? extends T> combiner) {
+        return new JoinedList<>(left, right, leftKey, rightKey, combiner);
+    }
+
     public static <A, B, R> EasyBinding<R> combine(ObservableValue<A> src1, ObservableValue<B> src2, BiFunction<A, B, R> f) {
-        return new EasyPreboundBinding<R>(src1, src2) {
-            @Override
-            protected R computeValue() {
-                return f.apply(src1.getValue(), src2.getValue());
-            }
-        };
+        return BindingLifecycle.DEFAULT.combine(src1, src2, f);
     }
 
     public static <A, B, C, R> EasyBinding<R> combine(ObservableValue<A> src1, ObservableValue<B> src2, ObservableValue<C> src3, TriFunction<A, B, C, R> f) {
-        return new EasyPreboundBinding<R>(src1, src2, src3) {
-            @Override
-            protected R computeValue() {
-                return f.apply(src1.getValue(), src2.getValue(), src3.getValue());
-            }
-        };
+        return BindingLifecycle.DEFAULT.combine(src1, src2, src3, f);
     }
 
     public static <A, B, C, D, R> EasyBinding<R> combine(ObservableValue<A> src1, ObservableValue<B> src2, ObservableValue<C> src3, ObservableValue<D> src4, TetraFunction<A, B, C, D, R> f) {
-        return new EasyPreboundBinding<R>(src1, src2, src3, src4) {
-            @Override
-            protected R computeValue() {
-                return f.apply(src1.getValue(), src2.getValue(), src3.getValue(), src4.getValue());
-            }
-        };
+        return BindingLifecycle.DEFAULT.combine(src1, src2, src3, src4, f);
     }
 
     public static <A, B, C, D, E, R> EasyBinding<R> combine(ObservableValue<A> src1, ObservableValue<B> src2, ObservableValue<C> src3, ObservableValue<D> src4, ObservableValue<E> src5, PentaFunction<A, B, C, D, E, R> f) {
-        return new EasyPreboundBinding<R>(src1, src2, src3, src4, src5) {
-            @Override
-            protected R computeValue() {
-                return f.apply(src1.getValue(), src2.getValue(), src3.getValue(), src4.getValue(), src5.getValue());
-            }
-        };
+        return BindingLifecycle.DEFAULT.combine(src1, src2, src3, src4, src5, f);
     }
 
     public static <A, B, C, D, E, F, R> EasyBinding<R> combine(ObservableValue<A> src1, ObservableValue<B> src2, ObservableValue<C> src3, ObservableValue<D> src4, ObservableValue<E> src5, ObservableValue<F> src6, HexaFunction<A, B, C, D, E, F, R> f) {
-        return new EasyPreboundBinding<R>(src1, src2, src3, src4, src5, src6) {
-            @Override
-            protected R computeValue() {
-                return f.apply(src1.getValue(), src2.getValue(), src3.getValue(), src4.getValue(), src5.getValue(), src6.getValue());
-            }
-        };
+        return BindingLifecycle.DEFAULT.combine(src1, src2, src3, src4, src5, src6, f);
     }
 
     public static <T, R> EasyBinding<R> combine(ObservableList<? extends ObservableValue<? extends T>> list, Function<? super Stream<T>, ? extends R> f) {
-        return new ListCombinationBinding<>(list, f);
+        return BindingLifecycle.DEFAULT.combine(list, f);
     }
 
 
@@ -377,12 +412,7 @@ public class EasyBind {
      * @see Stream#reduce(Object, BiFunction, BinaryOperator)
      */
     public static <T, R> EasyBinding<R> reduce(ObservableList<? extends T> list, Function<? super Stream<? extends T>, ? extends R> accumulator) {
-        return new EasyPreboundBinding<R>(list) {
-            @Override
-            protected R computeValue() {
-                return accumulator.apply(list.stream());
-            }
-        };
+        return BindingLifecycle.DEFAULT.reduce(list, accumulator);
     }
 
     /**
@@ -393,6 +423,17 @@ public class EasyBind {
         return SelectBuilder.startAt(selectionRoot);
     }
 
+    /**
+     * Starts a selection chain that keeps the connections further down the chain when an element is invalidated
+     * but still holds the identical object.
+     * This avoids removing and re-adding listeners along the whole chain if the root is frequently invalidated without actually changing.
+     *
+     * @see SelectBuilder#startAtReusingUnchanged(ObservableValue)
+     */
+    public static <T> SelectBuilder<T> selectReusingUnchanged(ObservableValue<T> selectionRoot) {
+        return SelectBuilder.startAtReusingUnchanged(selectionRoot);
+    }
+
     /**
      * Sets up automatic binding and unbinding of {@code target} to/from
      * {@code source}, based on the changing value of {@code condition}.
@@ -447,6 +488,22 @@ public class EasyBind {
         return () -> source.removeListener(listener);
     }
 
+    /**
+     * Mirrors the content of the given list into immutable snapshots, which can be read from other threads without
+     * locking, e.g. by background threads exporting the content of the list.
+     * <p>
+     * Every change of the {@code source} publishes a new snapshot through a volatile reference. Consecutive snapshots
+     * share their structure, so that applying a change does not copy the whole list.
+     * The mirroring can be stopped by calling {@link Subscription#unsubscribe()} on the returned mirror.
+     *
+     * @param <T>    the type of the {@code source} elements
+     * @param source the source list
+     * @return the mirror providing the current snapshot
+     */
+    public static <T> SnapshotMirror<T> bindSnapshot(ObservableList<? extends T> source) {
+        return new SnapshotMirror<>(source);
+    }
+
     /**
      * Entry point for creating conditional bindings.
      */
@@ -532,10 +589,50 @@ public class EasyBind {
         return () -> observable.removeListener(listener);
     }
 
+    /**
+     * Creates a new {@link OptionalBinding} that holds the first non-{@code null} value of the given observables,
+     * or is empty if all of them hold {@code null}.
+     * Invalidations of observables after the one currently providing the value are ignored.
+     *
+     * @param chain the observables to consider, in order of precedence
+     * @see ObservableOptionalValue#orElseOpt(ObservableValue)
+     */
+    @SafeVarargs
+    public static <T> OptionalBinding<T> firstNonNull(ObservableValue<? extends T>... chain) {
+        List<ObservableValue<? extends T>> observables = new ArrayList<>(chain.length);
+        for (ObservableValue<? extends T> observable : chain) {
+            observables.add(observable);
+        }
+        return new FirstNonNullBinding<>(observables);
+    }
+
+    /**
+     * Like {@link #firstNonNull(ObservableValue[])}, but the observables to consider are given by a list.
+     * The list is copied, so later modifications of it are not reflected in the returned binding.
+     *
+     * @param chain the observables to consider, in order of precedence
+     * @see #firstNonNull(ObservableList)
+     */
+    public static <T> OptionalBinding<T> firstNonNull(List<? extends ObservableValue<? extends T>> chain) {
+        return new FirstNonNullBinding<>(chain);
+    }
+
+    /**
+     * Like {@link #firstNonNull(ObservableValue[])}, but the observables to consider are given by an {@link ObservableList}.
+     * Changes of the list are reflected in the returned binding.
+     *
+     * @param chain the list of observables to consider, in order of precedence
+     */
+    public static <T> OptionalBinding<T> firstNonNull(ObservableList<? extends ObservableValue<? extends T>> chain) {
+        return new FirstNonNullBinding<>(chain);
+    }
+
     /**
      * Creates a new {@link OptionalBinding} that contains the element
      * of an {@link ObservableList} at the specified position.
      * The binding will be empty if the {@code index} points behind the {@code ObservableList} or to a {@code null} element.
+     * <p>
+     * The binding is only invalidated by list changes that affect positions at or before the {@code index}.
      *
      * @param list  the {@code ObservableList}
      * @param index the position in the {@code List}
@@ -551,16 +648,28 @@ public class EasyBind {
             throw new IllegalArgumentException("Index cannot be negative");
         }
 
-        return new PreboundOptionalBinding<E>(list) {
-            @Override
-            protected Optional<E> computeValue() {
-                try {
-                    return Optional.ofNullable(list.get(index));
-                } catch (IndexOutOfBoundsException ex) {
-                    return Optional.empty();
-                }
-            }
-        };
+        return new ListValueAtBinding<>(list, index);
+    }
+
+    /**
+     * Creates a new {@link OptionalBinding} that contains the element
+     * of an {@link ObservableList} at the position given by an observable index.
+     * The binding will be empty if the {@code index} is negative, points behind the {@code ObservableList} or to a {@code null} element.
+     *
+     * @param list  the {@code ObservableList}
+     * @param index the position in the {@code List}
+     * @return the new {@code OptionalBinding}
+     * @throws NullPointerException if the {@code ObservableList} or the {@code index} is {@code null}
+     */
+    public static <E> OptionalBinding<E> valueAt(final ObservableList<E> list, final ObservableIntegerValue index) {
+        if (list == null) {
+            throw new NullPointerException("List cannot be null.");
+        }
+        if (index == null) {
+            throw new NullPointerException("Index cannot be null.");
+        }
+
+        return new ListValueAtBinding<>(list, index);
     }
 
 
@@ -568,6 +677,13 @@ public class EasyBind {
      * Creates a new {@link OptionalBinding} that contains the mapping of a specific key
      * in an {@link ObservableMap}.
      * The binding will be empty if the {@code key} is not contained in the map or points to a {@code null} element.
+     * <p>
+     * For the maps created by {@link EasyObservableList#indexBy} and {@link EasyObservableList#groupingBy}, all
+     * bindings created by this method for the same map share a single listener on the map, which only invalidates the
+     * bindings whose key changed. For other maps, every change of the map invalidates the binding, since the map may
+     * consider keys as equal that are not equal according to {@link Object#equals(Object)} (for example, a map backed
+     * by a {@link java.util.TreeMap} with a custom comparator). Use {@link #valueAt(ObservableMap, Object, boolean)}
+     * to share the listener for other hash-based maps.
      *
      * @param map the {@code ObservableMap}
      * @param key the key in the {@code Map}
@@ -579,6 +695,31 @@ public class EasyBind {
             throw new NullPointerException("Map cannot be null.");
         }
 
+        return valueAt(map, key, MapKeyDispatcher.isHashBased(map));
+    }
+
+    /**
+     * Like {@link #valueAt(ObservableMap, Object)}, but lets the caller declare whether the map looks up its keys by
+     * their hash code and thus compares them using {@link Object#equals(Object)}, like a map created by
+     * {@link FXCollections#observableHashMap()}. In this case, all bindings created for the same map share a single
+     * listener on the map, which only invalidates the bindings whose key changed.
+     *
+     * @param map       the {@code ObservableMap}
+     * @param key       the key in the {@code Map}
+     * @param hashBased whether the map compares its keys using {@link Object#equals(Object)}
+     * @return the new {@code ObjectBinding}
+     * @throws NullPointerException if the {@code ObservableMap} is {@code null}
+     */
+    public static <K, V> OptionalBinding<V> valueAt(final ObservableMap<K, V> map, final K key, boolean hashBased) {
+        if (map == null) {
+            throw new NullPointerException("Map cannot be null.");
+        }
+
+        if (hashBased) {
+            return new MapValueAtBinding<>(map, key);
+        }
+
+        // The map may consider other keys as equal to the given key, so every change has to be considered
         return new PreboundOptionalBinding<V>(map) {
             @Override
             protected Optional<V> computeValue() {
@@ -591,6 +732,19 @@ public class EasyBind {
         };
     }
 
+    /**
+     * Takes a snapshot of the dependency graph of the given observable, that is, the observable itself together with
+     * all observables it (transitively) depends on. The snapshot can be exported using {@link BindingGraph#toDot()} or
+     * {@link BindingGraph#toJson()} and contains metrics like the number of listeners of each node.
+     * Invalidation and recomputation counts are only collected while {@link BindingGraph#setMetricsEnabled(boolean)} is on.
+     *
+     * @param observable the observable to inspect
+     * @return the dependency graph of the observable
+     */
+    public static BindingGraph inspect(Observable observable) {
+        return BindingGraph.of(observable);
+    }
+
     @FunctionalInterface
     public interface TriFunction<A, B, C, R> {
         R apply(A a, B b, C c);
@@ -1,13 +1,18 @@
 package com.tobiasdiez.easybind;
 
+import java.util.Comparator;
+import java.util.List;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
+import javafx.beans.Observable;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.BooleanBinding;
 import javafx.beans.property.Property;
+import javafx.beans.value.ObservableIntegerValue;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.ObservableList;
+import javafx.collections.ObservableMap;
 import javafx.collections.transformation.FilteredList;
 
 import com.tobiasdiez.easybind.optional.OptionalBinding;
@@ -47,6 +52,92 @@ public interface EasyObservableList<E> extends ObservableList<E> {
         return Bindings.createBooleanBinding(() -> this.stream().allMatch(predicate), this);
     }
 
+    /**
+     * Returns an immutable copy of the current content of this list, which is not affected by later changes of the list.
+     * <p>
+     * The first call copies the list and starts tracking its changes in a persistent data structure, which shares its
+     * structure between consecutive versions. Thus, subsequent calls take constant time, and each change of the list
+     * costs time proportional to the number of changed elements plus a logarithmic overhead.
+     * The snapshot can be read from any thread, but this method has to be called from the thread modifying this list.
+     *
+     * @return an immutable snapshot of this list
+     * @see EasyBind#bindSnapshot(ObservableList)
+     */
+    default List<E> snapshot() {
+        return SnapshotMirror.snapshotOf(this);
+    }
+
+    /**
+     * Creates a view of this list that contains every element only once, in the order of their first occurrence.
+     * In contrast to {@code reduce(stream -> stream.distinct()...)}, the view is updated incrementally: every added,
+     * removed or updated element is processed in (poly-)logarithmic time and only results in a change of the affected
+     * positions of the view. As for a {@link java.util.HashSet}, the elements must not change their
+     * {@code equals} and {@code hashCode} while they are in this list.
+     *
+     * @return the new list without duplicates
+     * @see java.util.stream.Stream#distinct()
+     */
+    default EasyObservableList<E> distinct() {
+        return new DistinctList<>(this);
+    }
+
+    /**
+     * Groups the elements of this list by the key computed by the given classifier. Each value of the returned read-only
+     * map is an observable list of the elements with the corresponding key, in the order of this list.
+     * <p>
+     * In contrast to {@code reduce(stream -> stream.collect(Collectors.groupingBy(...)))}, the groups are updated
+     * incrementally: every added, removed or updated element is processed in (poly-)logarithmic time and only results in
+     * a change of the affected groups. Groups are added to the map once they contain an element and are removed as soon
+     * as they become empty. The key of an element is recomputed whenever this list reports an update of the element.
+     *
+     * @param classifier the function computing the key of an element
+     * @return the new map of groups
+     * @see java.util.stream.Collectors#groupingBy(Function)
+     */
+    default <K> ObservableMap<K, EasyObservableList<E>> groupingBy(Function<? super E, ? extends K> classifier) {
+        return new GroupingMap<>(this, classifier, null);
+    }
+
+    /**
+     * Groups the elements of this list by the key computed by the given classifier, see {@link #groupingBy(Function)}.
+     * Additionally, the key of an element is recomputed whenever one of the observables returned by the extractor
+     * for this element is invalidated, so that the element moves to another group if its key changed.
+     *
+     * @param classifier the function computing the key of an element
+     * @param extractor  the function returning the observables the key of an element depends on
+     * @return the new map of groups
+     */
+    default <K> ObservableMap<K, EasyObservableList<E>> groupingBy(Function<? super E, ? extends K> classifier, Function<? super E, ? extends Observable[]> extractor) {
+        return new GroupingMap<>(this, classifier, extractor);
+    }
+
+    /**
+     * Creates a read-only map that indexes the elements of this list by the key computed by the given function, e.g.,
+     * for fast lookups by id. The map is maintained incrementally in time proportional to the number of changed
+     * elements. If several elements have the same key, the map holds the one that was added first. The key of an element
+     * is recomputed whenever this list reports an update of the element.
+     *
+     * @param keyFunction the function computing the key of an element
+     * @return the new index
+     * @see #multiIndexBy(Function)
+     */
+    default <K> ObservableMap<K, E> indexBy(Function<? super E, ? extends K> keyFunction) {
+        return new IndexMap<>(this, keyFunction, IndexMap.Bucket::first);
+    }
+
+    /**
+     * Creates a read-only map that indexes the elements of this list by the key computed by the given function, similar
+     * to {@link #indexBy(Function)}. The value of a key is an unmodifiable list of all elements with this key, in the
+     * order in which they were added, where multiple occurrences of the same instance are listed together. A new list is
+     * only created for keys whose elements changed.
+     *
+     * @param keyFunction the function computing the key of an element
+     * @return the new index
+     */
+    default <K> ObservableMap<K, List<E>> multiIndexBy(Function<? super E, ? extends K> keyFunction) {
+        return new IndexMap<>(this, keyFunction, IndexMap.Bucket::elements);
+    }
+
     /**
      * Creates a new {@link BooleanBinding} that holds {@code true} if this list is empty.
      *
@@ -81,6 +172,45 @@ public interface EasyObservableList<E> extends ObservableList<E> {
     	return EasyBind.wrapList(filtered(predicate));
     }
 
+    /**
+     * Creates a filtered view of this list that is updated incrementally. The returned list directly implements
+     * {@link EasyObservableList}, processes every added, removed or updated element in logarithmic time and supports
+     * monotone updates of the predicate via {@link IncrementalFilteredList#tightenPredicate(Predicate)} and
+     * {@link IncrementalFilteredList#loosenPredicate(Predicate)}, which only re-test the affected elements.
+     *
+     * @param predicate the predicate to use, or {@code null} to match all elements
+     * @return the new filtered list
+     */
+    default IncrementalFilteredList<E> filteredIncremental(Predicate<? super E> predicate) {
+        return new IncrementalFilteredList<>(this, predicate, null);
+    }
+
+    /**
+     * Creates a filtered view of this list that is updated incrementally, see {@link #filteredIncremental(Predicate)}.
+     * Additionally, an element is re-tested whenever one of the observables returned by the extractor for this element
+     * is invalidated.
+     *
+     * @param predicate the predicate to use, or {@code null} to match all elements
+     * @param extractor the function returning the observables the result of the predicate depends on
+     * @return the new filtered list
+     */
+    default IncrementalFilteredList<E> filteredIncremental(Predicate<? super E> predicate, Function<? super E, ? extends Observable[]> extractor) {
+        return new IncrementalFilteredList<>(this, predicate, extractor);
+    }
+
+    /**
+     * Creates a filtered view of this list that is updated incrementally, see {@link #filteredIncremental(Predicate)},
+     * whose predicate is bound to the given observable. Every change of the observable re-tests all elements.
+     *
+     * @param predicate the observable predicate to use
+     * @return the new filtered list
+     */
+    default IncrementalFilteredList<E> filteredIncremental(ObservableValue<? extends Predicate<? super E>> predicate) {
+        IncrementalFilteredList<E> filteredList = new IncrementalFilteredList<>(this, null, null);
+        filteredList.predicateProperty().bind(predicate);
+        return filteredList;
+    }
+
     /**
      * Creates a {@link MappedList} wrapper of this list using the specified mapping function.
      *
@@ -92,6 +222,48 @@ public interface EasyObservableList<E> extends ObservableList<E> {
         return EasyBind.map(this, f);
     }
 
+    /**
+     * Creates a sorted view of this list that is updated incrementally. In contrast to {@link #sorted(Comparator)},
+     * every added, removed or updated element is processed in polylogarithmic time and only results in a change of the
+     * affected position of the sorted list, which makes the view suitable for large lists that change frequently.
+     * Elements that compare equal are kept in the order of this list.
+     *
+     * @param comparator the comparator to use
+     * @return the new sorted list
+     */
+    default EasyObservableList<E> sortedIncremental(Comparator<? super E> comparator) {
+        return new IncrementalSortedList<>(this, comparator);
+    }
+
+    /**
+     * Creates a sorted view of this list that is updated incrementally, see {@link #sortedIncremental(Comparator)}.
+     * Whenever the comparator changes, the list is re-sorted and fires a permutation.
+     *
+     * @param comparator the observable comparator to use
+     * @return the new sorted list
+     */
+    default EasyObservableList<E> sortedIncremental(ObservableValue<? extends Comparator<? super E>> comparator) {
+        return new IncrementalSortedList<>(this, comparator);
+    }
+
+    /**
+     * Creates a view of the elements of this list between the given positions {@code from} (inclusive) and {@code to}
+     * (exclusive), e.g., the visible rows of a virtualized view of a large list. The positions are clamped to the size
+     * of this list.
+     * <p>
+     * The view only accesses the elements inside the window: changes of this list behind the window are ignored and
+     * changes inside the window are clipped to it. Changes before the window shift its content, which is reported as
+     * removals and additions of the elements leaving and entering the window at its boundaries. Thus, combined with
+     * {@link #mapped(Function)}, the mapper only runs for the elements inside the window.
+     *
+     * @param from the first position of the window
+     * @param to   the position behind the last position of the window
+     * @return the new windowed view
+     */
+    default EasyObservableList<E> window(ObservableIntegerValue from, ObservableIntegerValue to) {
+        return new WindowList<>(this, from, to);
+    }
+
     /**
      * @see EasyBind#valueAt(ObservableList, int)
      */
@@ -99,6 +271,13 @@ public interface EasyObservableList<E> extends ObservableList<E> {
         return EasyBind.valueAt(this, index);
     }
 
+    /**
+     * @see EasyBind#valueAt(ObservableList, ObservableIntegerValue)
+     */
+    default OptionalBinding<E> valueAt(ObservableIntegerValue index) {
+        return EasyBind.valueAt(this, index);
+    }
+
     /**
      * @see EasyBind#reduce(ObservableList, Function)
      */
@@ -9,4 +9,12 @@ public abstract class EasyPreboundBinding<T> extends PreboundBinding<T> implemen
     public EasyPreboundBinding(Observable... dependencies) {
         super(dependencies);
     }
+
+    /**
+     * @param lazy         whether to bind to the dependencies only while this binding is observed
+     * @param dependencies the dependencies of this binding
+     */
+    protected EasyPreboundBinding(boolean lazy, Observable... dependencies) {
+        super(lazy, dependencies);
+    }
 }
@@ -0,0 +1,164 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+
+import com.tobiasdiez.easybind.optional.OptionalBinding;
+import com.tobiasdiez.easybind.optional.PreboundOptionalBinding;
+
+/**
+ * Optional binding that holds the first non-{@code null} value of a chain of observables, or is empty if all of them hold {@code null}.
+ * <p>
+ * Invalidations of observables behind the currently selected one are ignored.
+ * The chain is either fixed or given by an {@link ObservableList}, in which case changes of the list are reflected.
+ * Only the observables in the changed range of the list are subscribed or unsubscribed.
+ */
+class FirstNonNullBinding<T> extends PreboundOptionalBinding<T> {
+    private final List<? extends ObservableValue<? extends T>> chain;
+    // the observable list backing the chain, or null if the chain is fixed
+    private final ObservableList<? extends ObservableValue<? extends T>> dynamicChain;
+    private final ListChangeListener<ObservableValue<? extends T>> chainListener = this::chainChanged;
+    private final WeakListChangeListener<ObservableValue<? extends T>> weakChainListener = new WeakListChangeListener<>(chainListener);
+    // one link per position of the chain, which need to be retained since the multiplexer only holds weak references
+    private List<Link> links = new ArrayList<>();
+    private int startAt = 0;
+
+    FirstNonNullBinding(List<? extends ObservableValue<? extends T>> chain) {
+        this.chain = new ArrayList<>(chain);
+        this.dynamicChain = null;
+        observeChain();
+    }
+
+    FirstNonNullBinding(ObservableList<? extends ObservableValue<? extends T>> chain) {
+        this.chain = chain;
+        this.dynamicChain = chain;
+        chain.addListener(weakChainListener);
+        observeChain();
+    }
+
+    @Override
+    public void dispose() {
+        for (Link link : links) {
+            link.subscription.unsubscribe();
+        }
+        links = new ArrayList<>();
+        if (dynamicChain != null) {
+            dynamicChain.removeListener(weakChainListener);
+        }
+    }
+
+    @Override
+    public ObservableList<?> getDependencies() {
+        ObservableList<Observable> dependencies = FXCollections.observableArrayList(chain);
+        if (dynamicChain != null) {
+            dependencies.add(dynamicChain);
+        }
+        return FXCollections.unmodifiableObservableList(dependencies);
+    }
+
+    @Override
+    protected Observable[] getDerivedDependencies() {
+        // Only this binding knows which invalidations are relevant
+        return new Observable[]{this};
+    }
+
+    /**
+     * implNote overwrite to append {@code other} to the chain instead of creating nested bindings
+     */
+    @Override
+    public OptionalBinding<T> orElseOpt(ObservableValue<T> other) {
+        if (dynamicChain != null) {
+            return super.orElseOpt(other);
+        }
+
+        List<ObservableValue<? extends T>> extendedChain = new ArrayList<>(chain);
+        extendedChain.add(other);
+        return new FirstNonNullBinding<>(extendedChain);
+    }
+
+    @Override
+    protected Optional<T> computeValue() {
+        for (int i = startAt; i < chain.size(); ++i) {
+            T val = chain.get(i).getValue();
+            if (val != null) {
+                startAt = i;
+                return Optional.of(val);
+            }
+        }
+        startAt = chain.size();
+        return Optional.empty();
+    }
+
+    private void observeChain() {
+        for (int i = 0; i < chain.size(); i++) {
+            links.add(new Link(i, chain.get(i)));
+        }
+    }
+
+    private void chainChanged(ListChangeListener.Change<? extends ObservableValue<? extends T>> change) {
+        int firstChanged = Integer.MAX_VALUE;
+        while (change.next()) {
+            int from = change.getFrom();
+            firstChanged = Math.min(firstChanged, from);
+            if (change.wasPermutated()) {
+                List<Link> permuted = new ArrayList<>(links.subList(from, change.getTo()));
+                for (int i = from; i < change.getTo(); i++) {
+                    links.set(change.getPermutation(i), permuted.get(i - from));
+                }
+            } else if (change.wasReplaced() || change.wasAdded() || change.wasRemoved()) {
+                List<Link> removed = links.subList(from, from + change.getRemovedSize());
+                for (Link link : removed) {
+                    link.subscription.unsubscribe();
+                }
+                removed.clear();
+                List<Link> added = new ArrayList<>(change.getAddedSize());
+                for (int i = from; i < change.getTo(); i++) {
+                    added.add(new Link(i, chain.get(i)));
+                }
+                links.addAll(from, added);
+            }
+        }
+
+        // Positions behind the first change may have shifted, which only requires to renumber the links
+        for (int i = firstChanged; i < links.size(); i++) {
+            links.get(i).position = i;
+        }
+        if (firstChanged <= startAt) {
+            startAt = Math.min(startAt, firstChanged);
+            invalidate();
+        }
+    }
+
+    private void srcInvalidated(int position) {
+        if (position <= startAt) {
+            startAt = position;
+            invalidate();
+        }
+    }
+
+    /**
+     * Listens to the observable at a position of the chain, so that we know which observable was invalidated without searching the chain.
+     */
+    private class Link implements InvalidationListener {
+        private final Subscription subscription;
+        private int position;
+
+        Link(int position, Observable observable) {
+            this.position = position;
+            this.subscription = InvalidationMultiplexer.subscribe(observable, this);
+        }
+
+        @Override
+        public void invalidated(Observable observable) {
+            srcInvalidated(position);
+        }
+    }
+}
@@ -2,51 +2,95 @@ package com.tobiasdiez.easybind;
 
 import java.util.function.Function;
 import javafx.beans.InvalidationListener;
-import javafx.beans.WeakInvalidationListener;
+import javafx.beans.Observable;
 import javafx.beans.binding.Bindings;
-import javafx.beans.binding.ObjectBinding;
 import javafx.beans.property.Property;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 
 /**
  * Converts an observable holding a value of type {@code T} to an observable holding a value of type {@code U},
  * using a {@code mapper} function that extracts an {@code ObservableValue<U>} from the source object.
  * The value hold by this class is the value hold by the extracted observable.
  */
-abstract class FlatMapBindingBase<T, U, O extends ObservableValue<U>> extends ObjectBinding<U> implements EasyBinding<U> {
+abstract class FlatMapBindingBase<T, U, O extends ObservableValue<U>> extends LazyObjectBinding<U> implements EasyBinding<U> {
     private final ObservableValue<T> source;
     private final Function<? super T, O> mapper;
-    // need to retain strong reference to listeners, so that they don't get garbage collected
+    // need to retain strong reference to listeners, since the multiplexer only holds weak references
     private final InvalidationListener sourceListener = obs -> sourceInvalidated();
-    private final InvalidationListener weakSourceListener = new WeakInvalidationListener(sourceListener);
     private final InvalidationListener mappedListener = obs -> mappedInvalidated();
-    private final InvalidationListener weakMappedListener = new WeakInvalidationListener(mappedListener);
+    private final boolean explicitLifecycle;
+    private final Subscription undisposedRegistration;
+    private Subscription sourceSubscription = Subscription.EMPTY;
     private O mapped = null;
     private Subscription mappedSubscription = null;
+    private Subscription mappedListenerSubscription = Subscription.EMPTY;
+    // whether the source was invalidated since the mapped observable was resolved
+    private boolean sourceStale = false;
 
-    public FlatMapBindingBase(ObservableValue<T> source, Function<? super T, O> mapper) {
+    public FlatMapBindingBase(ObservableValue<T> source, Function<? super T, O> mapper, boolean lazy, boolean explicitLifecycle) {
+        super(lazy);
         this.source = source;
         this.mapper = mapper;
-        source.addListener(weakSourceListener);
+        this.explicitLifecycle = explicitLifecycle;
+        undisposedRegistration = explicitLifecycle ? BindingLifecycle.registerUndisposed(this) : Subscription.EMPTY;
+        attachIfEager();
     }
 
     @Override
     public final void dispose() {
-        source.removeListener(weakSourceListener);
+        detach();
+        undisposedRegistration.unsubscribe();
+    }
+
+    @Override
+    protected final void observeDependencies() {
+        sourceSubscription = BindingLifecycle.observe(source, sourceListener, explicitLifecycle);
+    }
+
+    @Override
+    protected final void unobserveDependencies() {
+        sourceSubscription.unsubscribe();
+        sourceSubscription = Subscription.EMPTY;
         disposeMapped();
     }
 
+    @Override
+    public ObservableList<?> getDependencies() {
+        return mapped != null && !sourceStale
+                ? FXCollections.unmodifiableObservableList(FXCollections.<Observable>observableArrayList(source, mapped))
+                : FXCollections.singletonObservableList(source);
+    }
+
     @Override
     protected final U computeValue() {
+        if (!isAttached()) {
+            // Compute the value on demand without listening to the mapped observable
+            O target = mapper.apply(source.getValue());
+            return target != null ? target.getValue() : null;
+        }
+
         setupTargetObservable();
         return mapped != null ? mapped.getValue() : null;
     }
 
     private void setupTargetObservable() {
-        if (mapped == null) {
+        if (mapped == null || sourceStale) {
+            sourceStale = false;
             T baseVal = source.getValue();
-            mapped = mapper.apply(baseVal);
-            mappedSubscription = observeTargetObservable(mapped);
+            O newMapped = mapper.apply(baseVal);
+            // Keep listeners (and bindings) if the mapper returns the observable we are already connected to
+            if (newMapped != mapped) {
+                disposeMapped();
+                mapped = newMapped;
+                if (mapped != null) {
+                    mappedSubscription = observeTargetObservable(mapped);
+                }
+            }
+            if (mapped != null) {
+                mappedListenerSubscription = BindingLifecycle.observe(mapped, mappedListener, explicitLifecycle);
+            }
         }
     }
 
@@ -55,33 +99,46 @@ abstract class FlatMapBindingBase<T, U, O extends ObservableValue<U>> extends Ob
         return mapped;
     }
 
+    /**
+     * Connects to the observable returned by the mapper, in addition to the invalidation listener that is managed by
+     * this class. The returned subscription is only unsubscribed once the mapper returns a different observable.
+     */
     protected Subscription observeTargetObservable(O target) {
-        target.addListener(weakMappedListener);
-        return () -> target.removeListener(weakMappedListener);
+        return Subscription.EMPTY;
     }
 
     private void disposeMapped() {
+        stopListeningToMapped();
         if (mapped != null) {
             mappedSubscription.unsubscribe();
             mappedSubscription = null;
             mapped = null;
         }
+        sourceStale = false;
     }
 
     private void mappedInvalidated() {
         invalidate();
     }
 
+    private void stopListeningToMapped() {
+        mappedListenerSubscription.unsubscribe();
+        mappedListenerSubscription = Subscription.EMPTY;
+    }
+
     protected void sourceInvalidated() {
-        disposeMapped();
+        // Stop listening to the mapped observable right away, since it may no longer be the selected one.
+        // Other connections to it are only disposed once we know that the mapper returns a different one.
+        stopListeningToMapped();
+        sourceStale = true;
         invalidate();
     }
 }
 
 class FlatMapBinding<T, U, O extends ObservableValue<U>> extends FlatMapBindingBase<T, U, O> {
 
-    public FlatMapBinding(ObservableValue<T> source, Function<? super T, O> mapper) {
-        super(source, mapper);
+    public FlatMapBinding(ObservableValue<T> source, Function<? super T, O> mapper, BindingLifecycle lifecycle) {
+        super(source, mapper, lifecycle.isLazy(), lifecycle.isExplicit());
     }
 }
 
@@ -90,8 +147,9 @@ class FlatMapProperty<T, U, O extends Property<U>> extends FlatMapBindingBase<T,
     private boolean resetOnUnbind = false;
     private U resetTo = null;
 
-    public FlatMapProperty(ObservableValue<T> source, Function<? super T, O> mapper) {
-        super(source, mapper);
+    public FlatMapProperty(ObservableValue<T> source, Function<? super T, O> mapper, BindingLifecycle lifecycle) {
+        // Never lazy, since the selected property has to be kept bound even if this property is not observed
+        super(source, mapper, false, lifecycle.isExplicit());
     }
 
     @Override
@@ -100,8 +158,7 @@ class FlatMapProperty<T, U, O extends Property<U>> extends FlatMapBindingBase<T,
             mapped.bind(boundTo);
         }
 
-        Subscription s1 = super.observeTargetObservable(mapped);
-        Subscription s2 = () -> {
+        return () -> {
             if (boundTo != null) {
                 mapped.unbind();
                 if (resetOnUnbind) {
@@ -109,15 +166,13 @@ class FlatMapProperty<T, U, O extends Property<U>> extends FlatMapBindingBase<T,
                 }
             }
         };
-
-        return s1.and(s2);
     }
 
     @Override
     protected void sourceInvalidated() {
         super.sourceInvalidated();
 
-        // if bound, make sure to rebind eagerly
+        // if bound, make sure to rebind eagerly (this is a no-op if the selected property did not change)
         if (boundTo != null) {
             getTargetObservable();
         }
@@ -28,6 +28,10 @@ class FlattenedList<E> extends ObservableListBase<E> implements EasyObservableLi
         sourceLists.addListener(this::onSourcesListChanged);
     }
 
+    ObservableList<ObservableList<? extends E>> getSourceLists() {
+        return sourceLists;
+    }
+
     private void onSourcesListChanged(ListChangeListener.Change<? extends ObservableList<? extends E>> change) {
 
         beginChange();
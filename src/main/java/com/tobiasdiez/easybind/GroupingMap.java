@@ -0,0 +1,279 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+import javafx.collections.WeakListChangeListener;
+
+/**
+ * Read-only map that groups the elements of a list by a key, where each group is an observable list holding the
+ * elements with this key in the order of the source list.
+ * <p>
+ * The groups are updated incrementally: an added, removed or updated source element (or an element whose key changed)
+ * only results in a change of the affected groups, and each affected group fires a single change per source change.
+ * Groups are added to the map when their first element appears and removed once they become empty.
+ * The source elements are kept in a tree ordered by their position, and every group keeps its elements in an
+ * order-statistic tree ordered by the source position, so that a change of a single element is processed in
+ * polylogarithmic time. A permutation of the source rebuilds all groups in linear time.
+ */
+class GroupingMap<K, E> extends ReadOnlyObservableMap<K, EasyObservableList<E>> {
+    private final ObservableList<? extends E> source;
+    private final Function<? super E, ? extends K> classifier;
+    private final Function<? super E, ? extends Observable[]> extractor;
+    private final ListChangeListener<E> sourceListener = this::sourceChanged;
+
+    private final PositionTree<Member> positions = new PositionTree<>();
+    private final Comparator<Member> bySourcePosition = Comparator.comparingInt(member -> positions.rank(member.positionNode));
+    // all groups, including those that are empty or not yet published during a change
+    private final Map<K, Group> groupsByKey = new HashMap<>();
+    private final List<Group> changedGroups = new ArrayList<>();
+
+    GroupingMap(ObservableList<? extends E> source, Function<? super E, ? extends K> classifier, Function<? super E, ? extends Observable[]> extractor) {
+        this.source = source;
+        this.classifier = classifier;
+        this.extractor = extractor;
+
+        Map<Group, List<PositionTree.Node<Member>>> nodesByGroup = new IdentityHashMap<>();
+        for (E element : source) {
+            Member member = new Member(element);
+            positions.insert(positions.size(), member.positionNode);
+            member.group = groupsByKey.computeIfAbsent(member.key, Group::new);
+            nodesByGroup.computeIfAbsent(member.group, group -> new ArrayList<>()).add(member.groupNode);
+        }
+        nodesByGroup.forEach((group, nodes) -> group.tree.build(nodes));
+        backingMap.putAll(groupsByKey);
+
+        source.addListener(new WeakListChangeListener<>(sourceListener));
+    }
+
+    private void sourceChanged(ListChangeListener.Change<? extends E> change) {
+        while (change.next()) {
+            int from = change.getFrom();
+            if (change.wasPermutated()) {
+                permute(change);
+            } else if (change.wasUpdated()) {
+                for (int i = from; i < change.getTo(); i++) {
+                    update(positions.get(i).element, source.get(i));
+                }
+            } else {
+                for (int i = 0; i < change.getRemovedSize(); i++) {
+                    Member member = positions.get(from).element;
+                    removeFromGroup(member);
+                    positions.remove(member.positionNode);
+                    member.unsubscribe();
+                }
+                for (int i = from; i < change.getTo(); i++) {
+                    Member member = new Member(source.get(i));
+                    positions.insert(i, member.positionNode);
+                    addToGroup(member);
+                }
+            }
+        }
+        publishChanges();
+    }
+
+    private void update(Member member, E element) {
+        K key = classifier.apply(element);
+        if (element != member.element) {
+            member.unsubscribe();
+            member.element = element;
+            member.subscribe();
+        }
+        if (Objects.equals(key, member.key)) {
+            member.group.update(member);
+        } else {
+            removeFromGroup(member);
+            member.key = key;
+            addToGroup(member);
+        }
+    }
+
+    private void addToGroup(Member member) {
+        member.group = groupsByKey.computeIfAbsent(member.key, Group::new);
+        member.group.add(member);
+    }
+
+    private void removeFromGroup(Member member) {
+        member.group.remove(member);
+        member.group = null;
+    }
+
+    private void permute(ListChangeListener.Change<? extends E> change) {
+        // Rebuild the tree of positions in the new order
+        List<Member> members = new ArrayList<>(positions.size());
+        for (int i = 0; i < positions.size(); i++) {
+            members.add(positions.get(i).element);
+        }
+        List<Member> permuted = new ArrayList<>(members);
+        for (int i = change.getFrom(); i < change.getTo(); i++) {
+            permuted.set(change.getPermutation(i), members.get(i));
+        }
+        positions.clear();
+        for (Member member : permuted) {
+            positions.insert(positions.size(), member.positionNode);
+        }
+
+        // Rebuild the groups, remembering the old index of every element in its group
+        Map<Group, List<PositionTree.Node<Member>>> nodesByGroup = new IdentityHashMap<>();
+        for (Group group : groupsByKey.values()) {
+            List<PositionTree.Node<Member>> nodes = group.tree.nodes();
+            for (int i = 0; i < nodes.size(); i++) {
+                nodes.get(i).element.oldIndex = i;
+            }
+            nodesByGroup.put(group, new ArrayList<>(nodes.size()));
+        }
+        for (Member member : permuted) {
+            nodesByGroup.get(member.group).add(member.groupNode);
+        }
+        nodesByGroup.forEach(Group::permute);
+    }
+
+    /**
+     * Finishes the changes of all affected groups and afterwards adds new groups to and removes empty groups from the map.
+     */
+    private void publishChanges() {
+        List<Group> changed = new ArrayList<>(changedGroups);
+        changedGroups.clear();
+        for (Group group : changed) {
+            group.finishChange();
+        }
+        for (Group group : changed) {
+            if (group.isEmpty()) {
+                if (groupsByKey.get(group.key) == group) {
+                    groupsByKey.remove(group.key);
+                    backingMap.remove(group.key);
+                }
+            } else if (!backingMap.containsKey(group.key)) {
+                backingMap.put(group.key, group);
+            }
+        }
+    }
+
+    /**
+     * A source element together with its position in the source list and in its group.
+     */
+    private class Member {
+        E element;
+        K key;
+        Group group;
+        List<Subscription> subscriptions = Collections.emptyList();
+        final PositionTree.Node<Member> positionNode = new PositionTree.Node<>(this);
+        final PositionTree.Node<Member> groupNode = new PositionTree.Node<>(this);
+        // an old index of the element in its group, only valid temporarily
+        int oldIndex;
+        // re-classifies the element if one of its extracted observables is invalidated
+        final InvalidationListener listener = obs -> {
+            if (group != null) {
+                update(this, element);
+                publishChanges();
+            }
+        };
+
+        Member(E element) {
+            this.element = element;
+            this.key = classifier.apply(element);
+            subscribe();
+        }
+
+        void subscribe() {
+            if (extractor != null) {
+                Observable[] observables = extractor.apply(element);
+                subscriptions = new ArrayList<>(observables.length);
+                for (Observable observable : observables) {
+                    subscriptions.add(InvalidationMultiplexer.subscribe(observable, listener));
+                }
+            }
+        }
+
+        void unsubscribe() {
+            subscriptions.forEach(Subscription::unsubscribe);
+            subscriptions = Collections.emptyList();
+        }
+    }
+
+    /**
+     * The elements of the source list with a common key. A group keeps the whole map alive, so that it continues to be
+     * updated as long as it is used.
+     */
+    private class Group extends ObservableListBase<E> implements EasyObservableList<E> {
+        final K key;
+        final PositionTree<Member> tree = new PositionTree<>();
+        boolean changing = false;
+
+        Group(K key) {
+            this.key = key;
+        }
+
+        void add(Member member) {
+            changing();
+            int index = tree.insert(member.groupNode, bySourcePosition);
+            nextAdd(index, index + 1);
+        }
+
+        void remove(Member member) {
+            changing();
+            int index = tree.rank(member.groupNode);
+            tree.remove(member.groupNode);
+            nextRemove(index, member.element);
+        }
+
+        void update(Member member) {
+            changing();
+            nextUpdate(tree.rank(member.groupNode));
+        }
+
+        /**
+         * Replaces the content of this group by the given nodes, whose members know their old index in this group.
+         */
+        void permute(List<PositionTree.Node<Member>> nodes) {
+            int[] permutation = new int[nodes.size()];
+            boolean changed = false;
+            for (int i = 0; i < nodes.size(); i++) {
+                permutation[nodes.get(i).element.oldIndex] = i;
+                changed |= nodes.get(i).element.oldIndex != i;
+            }
+            tree.build(nodes);
+            if (changed) {
+                changing();
+                nextPermutation(0, permutation.length, permutation);
+            }
+        }
+
+        /**
+         * Starts a change of this group, which is finished at the end of the current source change.
+         */
+        private void changing() {
+            if (!changing) {
+                changing = true;
+                beginChange();
+                changedGroups.add(this);
+            }
+        }
+
+        void finishChange() {
+            changing = false;
+            endChange();
+        }
+
+        @Override
+        public E get(int index) {
+            return tree.get(index).element.element;
+        }
+
+        @Override
+        public int size() {
+            return tree.size();
+        }
+    }
+}
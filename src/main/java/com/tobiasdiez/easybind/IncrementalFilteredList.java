@@ -0,0 +1,273 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.TransformationList;
+
+/**
+ * Filtered view of a list that is updated incrementally, as returned by {@link EasyObservableList#filteredIncremental}.
+ * <p>
+ * In contrast to {@link javafx.collections.transformation.FilteredList}, this list directly implements
+ * {@link EasyObservableList} and supports monotone updates of the predicate: {@link #tightenPredicate(Predicate)}
+ * only re-tests the elements that are currently contained in this list and {@link #loosenPredicate(Predicate)} only
+ * re-tests the elements that are currently filtered out. Every other change of the predicate re-tests all elements.
+ * Moreover, an element is re-tested whenever the source list reports an update of it or, if an extractor is given,
+ * one of the observables returned by the extractor for this element is invalidated.
+ * <p>
+ * The source elements are kept in a {@link PositionTree}, in which the elements passing the predicate are marked, so
+ * that every added, removed or re-tested source element is processed in logarithmic time.
+ *
+ * @param <E> the type of the elements
+ */
+public final class IncrementalFilteredList<E> extends TransformationList<E, E> implements EasyObservableList<E> {
+    private final PositionTree<Member> tree = new PositionTree<>();
+    private final Function<? super E, ? extends Observable[]> extractor;
+    private final ObjectProperty<Predicate<? super E>> predicate = new SimpleObjectProperty<Predicate<? super E>>(this, "predicate") {
+        @Override
+        protected void invalidated() {
+            refilter();
+        }
+    };
+    // which elements have to be re-tested on the next change of the predicate
+    private Refilter pendingRefilter = Refilter.ALL;
+
+    IncrementalFilteredList(ObservableList<? extends E> source, Predicate<? super E> predicate, Function<? super E, ? extends Observable[]> extractor) {
+        super(source);
+        this.extractor = extractor;
+        this.predicate.set(predicate);
+        for (int i = 0; i < source.size(); i++) {
+            Member member = new Member(source.get(i));
+            tree.insert(i, member.node);
+            tree.setMarked(member.node, test(member.element));
+        }
+    }
+
+    /**
+     * The predicate that the elements of this list have to pass. A {@code null} predicate matches all elements.
+     * Setting the predicate re-tests all elements of the source list.
+     */
+    public ObjectProperty<Predicate<? super E>> predicateProperty() {
+        return predicate;
+    }
+
+    public Predicate<? super E> getPredicate() {
+        return predicate.get();
+    }
+
+    public void setPredicate(Predicate<? super E> predicate) {
+        this.predicate.set(predicate);
+    }
+
+    /**
+     * Replaces the predicate by a stricter one, which only matches elements that are matched by the current predicate.
+     * Only the elements currently contained in this list are re-tested.
+     *
+     * @param predicate the new predicate, which has to imply the current one
+     */
+    public void tightenPredicate(Predicate<? super E> predicate) {
+        pendingRefilter = Refilter.INCLUDED;
+        try {
+            this.predicate.set(predicate);
+        } finally {
+            pendingRefilter = Refilter.ALL;
+        }
+    }
+
+    /**
+     * Replaces the predicate by a weaker one, which matches all elements that are matched by the current predicate.
+     * Only the elements currently filtered out are re-tested.
+     *
+     * @param predicate the new predicate, which has to be implied by the current one
+     */
+    public void loosenPredicate(Predicate<? super E> predicate) {
+        pendingRefilter = Refilter.EXCLUDED;
+        try {
+            this.predicate.set(predicate);
+        } finally {
+            pendingRefilter = Refilter.ALL;
+        }
+    }
+
+    @Override
+    public E get(int index) {
+        return tree.getMarked(index).element.element;
+    }
+
+    @Override
+    public int size() {
+        return tree.markedCount();
+    }
+
+    @Override
+    public int getSourceIndex(int index) {
+        return tree.rank(tree.getMarked(index));
+    }
+
+    /**
+     * Returns the index of the given source element in this list, or {@code -1} if the source element is filtered out.
+     */
+    @Override
+    public int getViewIndex(int index) {
+        PositionTree.Node<Member> node = tree.get(index);
+        return node.marked ? tree.markedRank(node) : -1;
+    }
+
+    private boolean test(E element) {
+        Predicate<? super E> currentPredicate = predicate.get();
+        return currentPredicate == null || currentPredicate.test(element);
+    }
+
+    private void refilter() {
+        if (tree.size() == 0) {
+            return;
+        }
+
+        // Collect the elements to re-test first, so that no element is tested twice
+        // Removals are processed before additions, so that the indices are computed with respect to the current content
+        List<PositionTree.Node<Member>> included = pendingRefilter != Refilter.EXCLUDED ? tree.nodes(true) : Collections.emptyList();
+        List<PositionTree.Node<Member>> excluded = pendingRefilter != Refilter.INCLUDED ? tree.nodes(false) : Collections.emptyList();
+        beginChange();
+        included.forEach(node -> retest(node.element));
+        excluded.forEach(node -> retest(node.element));
+        endChange();
+    }
+
+    /**
+     * Tests the element of the given member again and updates this list accordingly.
+     * If the element is still contained in this list, it is reported as updated if {@code updated} is set.
+     */
+    private void retest(Member member, boolean updated) {
+        boolean wasIncluded = member.node.marked;
+        boolean included = test(member.element);
+        if (wasIncluded && included) {
+            if (updated) {
+                nextUpdate(tree.markedRank(member.node));
+            }
+        } else if (wasIncluded) {
+            int index = tree.markedRank(member.node);
+            tree.setMarked(member.node, false);
+            nextRemove(index, member.element);
+        } else if (included) {
+            tree.setMarked(member.node, true);
+            int index = tree.markedRank(member.node);
+            nextAdd(index, index + 1);
+        }
+    }
+
+    private void retest(Member member) {
+        retest(member, false);
+    }
+
+    @Override
+    protected void sourceChanged(ListChangeListener.Change<? extends E> change) {
+        beginChange();
+        while (change.next()) {
+            int from = change.getFrom();
+            if (change.wasPermutated()) {
+                permute(change);
+            } else if (change.wasUpdated()) {
+                for (int i = from; i < change.getTo(); i++) {
+                    Member member = tree.get(i).element;
+                    member.setElement(getSource().get(i));
+                    retest(member, true);
+                }
+            } else {
+                for (int i = 0; i < change.getRemovedSize(); i++) {
+                    Member member = tree.get(from).element;
+                    if (member.node.marked) {
+                        nextRemove(tree.markedRank(member.node), member.element);
+                    }
+                    tree.remove(member.node);
+                    member.unsubscribe();
+                }
+                for (int i = from; i < change.getTo(); i++) {
+                    Member member = new Member(getSource().get(i));
+                    tree.insert(i, member.node);
+                    retest(member);
+                }
+            }
+        }
+        endChange();
+    }
+
+    private void permute(ListChangeListener.Change<? extends E> change) {
+        List<Member> members = new ArrayList<>(tree.size());
+        for (int i = 0; i < tree.size(); i++) {
+            members.add(tree.get(i).element);
+        }
+        List<PositionTree.Node<Member>> included = tree.nodes(true);
+        for (int i = 0; i < included.size(); i++) {
+            included.get(i).element.oldIndex = i;
+        }
+
+        List<Member> permuted = new ArrayList<>(members);
+        for (int i = change.getFrom(); i < change.getTo(); i++) {
+            permuted.set(change.getPermutation(i), members.get(i));
+        }
+        tree.clear();
+        int[] permutation = new int[included.size()];
+        int newIndex = 0;
+        for (Member member : permuted) {
+            boolean wasIncluded = member.node.marked;
+            tree.insert(tree.size(), member.node);
+            if (wasIncluded) {
+                tree.setMarked(member.node, true);
+                permutation[member.oldIndex] = newIndex++;
+            }
+        }
+        nextPermutation(0, permutation.length, permutation);
+    }
+
+    private enum Refilter {
+        ALL, INCLUDED, EXCLUDED
+    }
+
+    /**
+     * A source element together with its position in the source list.
+     */
+    private class Member {
+        final PositionTree.Node<Member> node = new PositionTree.Node<>(this);
+        // re-tests the element if one of its extracted observables is invalidated
+        final InvalidationListener listener = obs -> {
+            beginChange();
+            retest(this, true);
+            endChange();
+        };
+        E element;
+        List<Subscription> subscriptions = Collections.emptyList();
+        // index of the element in this list before a permutation of the source
+        int oldIndex;
+
+        Member(E element) {
+            setElement(element);
+        }
+
+        void setElement(E element) {
+            if (element != this.element) {
+                unsubscribe();
+                this.element = element;
+                if (extractor != null) {
+                    Observable[] observables = extractor.apply(element);
+                    subscriptions = new ArrayList<>(observables.length);
+                    for (Observable observable : observables) {
+                        subscriptions.add(InvalidationMultiplexer.subscribe(observable, listener));
+                    }
+                }
+            }
+        }
+
+        void unsubscribe() {
+            subscriptions.forEach(Subscription::unsubscribe);
+            subscriptions = Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.TransformationList;
+
+/**
+ * Sorted view of a list that is kept in an order-statistic tree (a {@link PositionTree} sorted by the comparator), so
+ * that every added, removed or updated source element is processed in polylogarithmic time and results in a change of
+ * only the affected positions of this list.
+ * <p>
+ * Like for {@link javafx.collections.transformation.SortedList}, elements that compare equal are kept in the order of
+ * the source list, and without comparator this list has the same order as the source list. The source elements are
+ * kept in a {@link PositionTree}, so that their source positions are available in logarithmic time.
+ * If the comparator is given by an observable, changing the comparator re-sorts this list and fires a permutation.
+ */
+class IncrementalSortedList<E> extends TransformationList<E, E> implements EasyObservableList<E> {
+    private final PositionTree<Member> tree = new PositionTree<>();
+    private final PositionTree<Member> positions = new PositionTree<>();
+    private final ObservableValue<? extends Comparator<? super E>> observableComparator;
+    private final InvalidationListener comparatorListener = obs -> comparatorChanged();
+    private final Comparator<Member> order = this::compare;
+    private Comparator<? super E> comparator;
+
+    public IncrementalSortedList(ObservableList<? extends E> source, Comparator<? super E> comparator) {
+        super(source);
+        this.observableComparator = null;
+        this.comparator = comparator;
+        initialize();
+    }
+
+    public IncrementalSortedList(ObservableList<? extends E> source, ObservableValue<? extends Comparator<? super E>> comparator) {
+        super(source);
+        this.observableComparator = comparator;
+        this.comparator = comparator.getValue();
+        comparator.addListener(new WeakInvalidationListener(comparatorListener));
+        initialize();
+    }
+
+    private void initialize() {
+        for (E element : getSource()) {
+            positions.insert(positions.size(), new Member(element).position);
+        }
+        tree.build(sortedNodes());
+    }
+
+    @Override
+    public E get(int index) {
+        return tree.get(index).element.element;
+    }
+
+    @Override
+    public int size() {
+        return tree.size();
+    }
+
+    @Override
+    public int getSourceIndex(int index) {
+        return positions.rank(tree.get(index).element.position);
+    }
+
+    @Override
+    public int getViewIndex(int index) {
+        if (index < 0 || index >= positions.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + positions.size());
+        }
+        return tree.rank(positions.get(index).element.node);
+    }
+
+    @Override
+    protected void sourceChanged(ListChangeListener.Change<? extends E> change) {
+        beginChange();
+        // The tree is only ordered with respect to the elements that were not updated, so all updated elements are
+        // taken out of the tree before it is used to position other elements, and only inserted again at the end
+        List<Member> updated = new ArrayList<>();
+        List<Member> detached = new ArrayList<>();
+        while (change.next()) {
+            int from = change.getFrom();
+            if (change.wasUpdated()) {
+                for (int i = from; i < change.getTo(); i++) {
+                    updated.add(positions.get(i).element);
+                }
+                continue;
+            }
+
+            detach(updated, detached);
+            if (change.wasPermutated()) {
+                permute(change);
+            } else {
+                for (int i = 0; i < change.getRemovedSize(); i++) {
+                    Member member = positions.get(from).element;
+                    positions.remove(member.position);
+                    if (member.detached) {
+                        // The element was already reported as removed when it was detached
+                        member.detached = false;
+                    } else {
+                        int index = tree.rank(member.node);
+                        tree.remove(member.node);
+                        nextRemove(index, member.element);
+                    }
+                }
+                for (int i = from; i < change.getTo(); i++) {
+                    Member member = new Member(getSource().get(i));
+                    positions.insert(i, member.position);
+                    int index = tree.insert(member.node, order);
+                    nextAdd(index, index + 1);
+                }
+            }
+        }
+
+        if (detached.isEmpty()) {
+            reposition(updated);
+        } else {
+            detach(updated, detached);
+            reinsert(detached);
+        }
+        endChange();
+    }
+
+    /**
+     * Moves the source positions of the permuted elements and re-sorts this list if elements that compare equal
+     * are no longer in the order of the source list.
+     */
+    private void permute(ListChangeListener.Change<? extends E> change) {
+        int from = change.getFrom();
+        List<Member> permuted = new ArrayList<>(change.getTo() - from);
+        for (int i = from; i < change.getTo(); i++) {
+            permuted.add(null);
+        }
+        for (int i = from; i < change.getTo(); i++) {
+            Member member = positions.get(i).element;
+            permuted.set(change.getPermutation(i) - from, member);
+        }
+        for (Member member : permuted) {
+            positions.remove(member.position);
+        }
+        for (int i = 0; i < permuted.size(); i++) {
+            positions.insert(from + i, permuted.get(i).position);
+        }
+
+        // Since the order of the other elements is unchanged, it suffices to compare the moved elements to their neighbors
+        for (Member member : permuted) {
+            if (member.detached) {
+                continue;
+            }
+            int index = tree.rank(member.node);
+            if ((index > 0 && order.compare(tree.get(index - 1).element, member) > 0)
+                    || (index < tree.size() - 1 && order.compare(member, tree.get(index + 1).element) > 0)) {
+                resort();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Moves the updated elements to their new positions. If none of them moves, they are reported as updated.
+     */
+    private void reposition(List<Member> updated) {
+        List<Member> sorted = new ArrayList<>(updated);
+        for (Member member : sorted) {
+            member.oldIndex = tree.rank(member.node);
+        }
+        sorted.sort(Comparator.comparingInt(member -> member.oldIndex));
+        for (Member member : sorted) {
+            tree.remove(member.node);
+        }
+        for (Member member : sorted) {
+            tree.insert(member.node, order);
+        }
+
+        boolean moved = false;
+        for (Member member : sorted) {
+            moved |= tree.rank(member.node) != member.oldIndex;
+        }
+        if (moved) {
+            // Remove the elements from back to front and add them from front to back, so that all indices stay valid
+            for (int i = sorted.size() - 1; i >= 0; i--) {
+                nextRemove(sorted.get(i).oldIndex, sorted.get(i).element);
+            }
+            fireAdded(sorted);
+        } else {
+            for (Member member : sorted) {
+                nextUpdate(member.oldIndex);
+            }
+        }
+    }
+
+    /**
+     * Takes the given elements out of the tree and reports them as removed. The elements are moved to {@code detached}.
+     */
+    private void detach(List<Member> members, List<Member> detached) {
+        List<Member> sorted = new ArrayList<>(members);
+        for (Member member : sorted) {
+            member.oldIndex = tree.rank(member.node);
+        }
+        sorted.sort(Comparator.comparingInt(member -> member.oldIndex));
+        // Remove the elements from back to front, so that the indices of the remaining ones stay valid
+        for (int i = sorted.size() - 1; i >= 0; i--) {
+            Member member = sorted.get(i);
+            tree.remove(member.node);
+            member.detached = true;
+            nextRemove(member.oldIndex, member.element);
+        }
+        detached.addAll(sorted);
+        members.clear();
+    }
+
+    /**
+     * Inserts the detached elements that are still contained in the source list into the tree again and reports them
+     * as added.
+     */
+    private void reinsert(List<Member> detached) {
+        List<Member> inserted = new ArrayList<>(detached.size());
+        for (Member member : detached) {
+            if (member.detached) {
+                member.detached = false;
+                tree.insert(member.node, order);
+                inserted.add(member);
+            }
+        }
+        fireAdded(inserted);
+    }
+
+    /**
+     * Reports the given elements, which are contained in the tree, as added.
+     */
+    private void fireAdded(List<Member> added) {
+        // Add the elements from front to back, so that all elements before them are already present
+        List<Member> sorted = new ArrayList<>(added);
+        sorted.sort(Comparator.comparingInt(member -> tree.rank(member.node)));
+        for (Member member : sorted) {
+            int index = tree.rank(member.node);
+            nextAdd(index, index + 1);
+        }
+    }
+
+    private void comparatorChanged() {
+        comparator = observableComparator.getValue();
+        beginChange();
+        resort();
+        endChange();
+    }
+
+    /**
+     * Sorts all elements again and fires the resulting permutation.
+     */
+    private void resort() {
+        List<PositionTree.Node<Member>> nodes = tree.nodes();
+        for (int i = 0; i < nodes.size(); i++) {
+            nodes.get(i).element.oldIndex = i;
+        }
+        List<PositionTree.Node<Member>> sorted = sortedNodes();
+        int[] permutation = new int[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            permutation[sorted.get(i).element.oldIndex] = i;
+        }
+        tree.build(sorted);
+        nextPermutation(0, permutation.length, permutation);
+    }
+
+    /**
+     * Returns the nodes of all elements in sorted order.
+     */
+    private List<PositionTree.Node<Member>> sortedNodes() {
+        List<PositionTree.Node<Member>> sorted = new ArrayList<>(positions.size());
+        for (PositionTree.Node<Member> position : positions.nodes(false)) {
+            if (!position.element.detached) {
+                sorted.add(position.element.node);
+            }
+        }
+        if (comparator != null) {
+            // The sort is stable, so elements that compare equal stay in the order of the source list
+            sorted.sort((a, b) -> comparator.compare(a.element.element, b.element.element));
+        }
+        return sorted;
+    }
+
+    private int compare(Member a, Member b) {
+        if (comparator != null) {
+            int result = comparator.compare(a.element, b.element);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(positions.rank(a.position), positions.rank(b.position));
+    }
+
+    /**
+     * A source element together with its position in the source list and in this list.
+     */
+    private class Member {
+        final E element;
+        final PositionTree.Node<Member> position = new PositionTree.Node<>(this);
+        final PositionTree.Node<Member> node = new PositionTree.Node<>(this);
+        // whether the element was updated and is temporarily taken out of the tree
+        boolean detached = false;
+        // an old index of the element in this list, only valid temporarily
+        int oldIndex;
+
+        Member(E element) {
+            this.element = element;
+        }
+    }
+}
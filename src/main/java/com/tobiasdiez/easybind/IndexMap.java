@@ -0,0 +1,180 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+
+/**
+ * Read-only map that indexes the elements of a list by a key, as returned by {@link EasyObservableList#indexBy}
+ * and {@link EasyObservableList#multiIndexBy}.
+ * <p>
+ * The elements with a common key are kept in a bucket in the order in which they were added, and the value of a key is
+ * computed from its bucket. Since the key of every element is remembered and the buckets find their elements by
+ * identity, the index is maintained in time proportional to the number of changed elements, independent of the size
+ * of the source list. The key of an element is recomputed whenever the source list reports an update of the element.
+ */
+class IndexMap<K, E, V> extends ReadOnlyObservableMap<K, V> {
+    private final Function<? super E, ? extends K> keyFunction;
+    private final Function<? super Bucket<E>, ? extends V> valueFunction;
+    private final ListChangeListener<E> sourceListener = this::sourceChanged;
+    private final Map<K, Bucket<E>> buckets = new HashMap<>();
+    // the key and the number of occurrences of every element in the source list (compared by identity)
+    private final Map<E, Occurrences<K, E>> occurrences = new IdentityHashMap<>();
+
+    IndexMap(ObservableList<? extends E> source, Function<? super E, ? extends K> keyFunction, Function<? super Bucket<E>, ? extends V> valueFunction) {
+        this.keyFunction = keyFunction;
+        this.valueFunction = valueFunction;
+
+        Set<K> changedKeys = new LinkedHashSet<>();
+        source.forEach(element -> add(element, changedKeys));
+        publishChanges(changedKeys);
+
+        source.addListener(new WeakListChangeListener<>(sourceListener));
+    }
+
+    private void sourceChanged(ListChangeListener.Change<? extends E> change) {
+        Set<K> changedKeys = new LinkedHashSet<>();
+        while (change.next()) {
+            // Permutations are ignored, since the buckets do not depend on the order of the source list
+            if (change.wasUpdated()) {
+                for (int i = change.getFrom(); i < change.getTo(); i++) {
+                    updateKey(change.getList().get(i), changedKeys);
+                }
+            } else if (!change.wasPermutated()) {
+                change.getRemoved().forEach(element -> remove(element, changedKeys));
+                change.getAddedSubList().forEach(element -> add(element, changedKeys));
+            }
+        }
+        publishChanges(changedKeys);
+    }
+
+    private void add(E element, Set<K> changedKeys) {
+        Occurrences<K, E> elementOccurrences = occurrences.computeIfAbsent(element, key -> new Occurrences<>(keyFunction.apply(element), element));
+        if (elementOccurrences.count == 0) {
+            buckets.computeIfAbsent(elementOccurrences.key, key -> new Bucket<>()).add(elementOccurrences);
+        } else {
+            buckets.get(elementOccurrences.key).modified();
+        }
+        elementOccurrences.count++;
+        changedKeys.add(elementOccurrences.key);
+    }
+
+    private void remove(E element, Set<K> changedKeys) {
+        Occurrences<K, E> elementOccurrences = occurrences.get(element);
+        elementOccurrences.count--;
+        Bucket<E> bucket = buckets.get(elementOccurrences.key);
+        if (elementOccurrences.count == 0) {
+            occurrences.remove(element);
+            bucket.remove(elementOccurrences);
+            if (bucket.isEmpty()) {
+                buckets.remove(elementOccurrences.key);
+            }
+        } else {
+            bucket.modified();
+        }
+        changedKeys.add(elementOccurrences.key);
+    }
+
+    private void updateKey(E element, Set<K> changedKeys) {
+        Occurrences<K, E> elementOccurrences = occurrences.get(element);
+        K newKey = keyFunction.apply(element);
+        if (!Objects.equals(newKey, elementOccurrences.key)) {
+            Bucket<E> oldBucket = buckets.get(elementOccurrences.key);
+            oldBucket.remove(elementOccurrences);
+            if (oldBucket.isEmpty()) {
+                buckets.remove(elementOccurrences.key);
+            }
+            buckets.computeIfAbsent(newKey, key -> new Bucket<>()).add(elementOccurrences);
+            changedKeys.add(elementOccurrences.key);
+            changedKeys.add(newKey);
+            elementOccurrences.key = newKey;
+        }
+    }
+
+    private void publishChanges(Set<K> changedKeys) {
+        for (K key : changedKeys) {
+            Bucket<E> bucket = buckets.get(key);
+            if (bucket == null) {
+                backingMap.remove(key);
+            } else {
+                V value = valueFunction.apply(bucket);
+                if (backingMap.get(key) != value) {
+                    backingMap.put(key, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * The elements with a common key, in the order in which they were added. Multiple occurrences of the same element
+     * are kept together at the position of its first addition.
+     */
+    static final class Bucket<E> {
+        // the occurrences are compared by identity, so that every element is found in constant time
+        private final Set<Occurrences<?, E>> elements = new LinkedHashSet<>();
+        // the content of this bucket as published by the last call of elements(), copied only after a modification
+        private List<E> snapshot = null;
+
+        /**
+         * Returns the element that was added first.
+         */
+        E first() {
+            return elements.iterator().next().element;
+        }
+
+        /**
+         * Returns an unmodifiable list of all elements, which does not change if this bucket is modified later.
+         */
+        List<E> elements() {
+            if (snapshot == null) {
+                List<E> content = new ArrayList<>();
+                for (Occurrences<?, E> occurrence : elements) {
+                    for (int i = 0; i < occurrence.count; i++) {
+                        content.add(occurrence.element);
+                    }
+                }
+                snapshot = Collections.unmodifiableList(content);
+            }
+            return snapshot;
+        }
+
+        private void add(Occurrences<?, E> occurrence) {
+            elements.add(occurrence);
+            modified();
+        }
+
+        private void remove(Occurrences<?, E> occurrence) {
+            elements.remove(occurrence);
+            modified();
+        }
+
+        private void modified() {
+            snapshot = null;
+        }
+
+        private boolean isEmpty() {
+            return elements.isEmpty();
+        }
+    }
+
+    private static class Occurrences<K, E> {
+        final E element;
+        K key;
+        int count = 0;
+
+        Occurrences(K key, E element) {
+            this.key = key;
+            this.element = element;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.tobiasdiez.easybind;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+
+/**
+ * Shares a single invalidation listener on an observable among all its dependants.
+ * <p>
+ * Instead of adding one listener per dependant to the source, {@link #subscribe(Observable, InvalidationListener)}
+ * registers the dependant at the multiplexer of the source, which is the only listener added to the source and which
+ * notifies the dependants from a compact array. This keeps the cost of adding and removing listeners low even for
+ * sources with thousands of dependants.
+ * <p>
+ * Similar to {@link javafx.beans.WeakInvalidationListener}, the dependants are only weakly referenced,
+ * so the caller has to keep a strong reference to the listener as long as it should be notified.
+ * Entries of unsubscribed or garbage collected dependants are removed in batches, and the multiplexer removes
+ * itself from the source once no dependants are left.
+ */
+final class InvalidationMultiplexer implements InvalidationListener {
+    private static final Map<WeakIdentityReference<Observable>, InvalidationMultiplexer> MULTIPLEXERS = new HashMap<>();
+    private static final ReferenceQueue<Observable> COLLECTED_SOURCES = new ReferenceQueue<>();
+
+    // the key of this multiplexer in the registry, which only weakly references the source
+    private final WeakIdentityReference<Observable> sourceRef;
+    private Entry[] entries = new Entry[2];
+    private int size = 0;
+    // number of entries that are unsubscribed or whose listener was garbage collected
+    private int deadCount = 0;
+    private int firingDepth = 0;
+
+    private InvalidationMultiplexer(WeakIdentityReference<Observable> sourceRef) {
+        this.sourceRef = sourceRef;
+    }
+
+    /**
+     * Registers the {@code listener} to be notified whenever the {@code source} is invalidated.
+     *
+     * @param source   the observable to listen to
+     * @param listener the listener to notify, which is only weakly referenced
+     * @return a subscription that can be used to stop notifying the listener
+     */
+    static Subscription subscribe(Observable source, InvalidationListener listener) {
+        InvalidationMultiplexer multiplexer;
+        Entry entry;
+        synchronized (MULTIPLEXERS) {
+            expungeCollectedSources();
+
+            multiplexer = MULTIPLEXERS.get(new WeakIdentityReference<>(source, null));
+            if (multiplexer == null) {
+                multiplexer = new InvalidationMultiplexer(new WeakIdentityReference<>(source, COLLECTED_SOURCES));
+                MULTIPLEXERS.put(multiplexer.sourceRef, multiplexer);
+                source.addListener(multiplexer);
+            }
+            entry = multiplexer.add(listener);
+        }
+
+        InvalidationMultiplexer finalMultiplexer = multiplexer;
+        return () -> finalMultiplexer.remove(entry);
+    }
+
+    /**
+     * Returns the number of listeners currently subscribed to the given source through its multiplexer.
+     */
+    static int getSubscriberCount(Observable source) {
+        synchronized (MULTIPLEXERS) {
+            InvalidationMultiplexer multiplexer = MULTIPLEXERS.get(new WeakIdentityReference<>(source, null));
+            return multiplexer == null ? 0 : multiplexer.size - multiplexer.deadCount;
+        }
+    }
+
+    private static void expungeCollectedSources() {
+        Reference<? extends Observable> collected;
+        while ((collected = COLLECTED_SOURCES.poll()) != null) {
+            MULTIPLEXERS.remove(collected);
+        }
+    }
+
+    @Override
+    public void invalidated(Observable source) {
+        // Listeners added while firing are stored behind the current size (or in a new array), and the array is
+        // not compacted while firing, so iterating over the current state is safe
+        Entry[] currentEntries = entries;
+        int currentSize = size;
+        firingDepth++;
+        try {
+            for (int i = 0; i < currentSize; i++) {
+                Entry entry = currentEntries[i];
+                if (entry.dead) {
+                    continue;
+                }
+
+                InvalidationListener listener = entry.get();
+                if (listener == null) {
+                    entry.dead = true;
+                    deadCount++;
+                    continue;
+                }
+
+                try {
+                    listener.invalidated(source);
+                } catch (Exception e) {
+                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                }
+            }
+        } finally {
+            firingDepth--;
+        }
+        removeDeadEntries();
+    }
+
+    private Entry add(InvalidationListener listener) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        Entry entry = new Entry(listener);
+        entries[size++] = entry;
+        return entry;
+    }
+
+    private void remove(Entry entry) {
+        synchronized (MULTIPLEXERS) {
+            if (entry.dead) {
+                return;
+            }
+            entry.dead = true;
+            entry.clear();
+            deadCount++;
+            removeDeadEntries();
+        }
+    }
+
+    private void removeDeadEntries() {
+        // Only compact if a significant part of the entries is dead, so that the cost is amortized
+        if (firingDepth > 0 || deadCount == 0 || deadCount * 2 < size) {
+            return;
+        }
+
+        synchronized (MULTIPLEXERS) {
+            int live = 0;
+            for (int i = 0; i < size; i++) {
+                if (!entries[i].dead) {
+                    entries[live++] = entries[i];
+                }
+            }
+            Arrays.fill(entries, live, size, null);
+            size = live;
+            deadCount = 0;
+
+            if (size == 0) {
+                Observable source = sourceRef.get();
+                if (source != null) {
+                    source.removeListener(this);
+                }
+                MULTIPLEXERS.remove(sourceRef);
+            } else if (size * 4 < entries.length && entries.length > 2) {
+                entries = Arrays.copyOf(entries, Math.max(2, size * 2));
+            }
+        }
+    }
+
+    private static class Entry extends WeakReference<InvalidationListener> {
+        private boolean dead = false;
+
+        Entry(InvalidationListener listener) {
+            super(listener);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+import javafx.collections.WeakListChangeListener;
+
+/**
+ * List of the combinations of all pairs of elements of two lists with equal keys (an inner equi-join),
+ * as returned by {@link EasyBind#join}.
+ * <p>
+ * The elements of both lists are indexed by their key in hash maps, so that a change of an element of either list only
+ * creates, removes or recomputes the rows that combine this element, independent of the sizes of the lists.
+ * The rows are kept in the order in which they were created: initially, they are ordered by the left and then by the
+ * right element, and rows created by later changes are appended. The rows are stored in a {@link PositionTree}, so that
+ * removing a row takes logarithmic time.
+ * <p>
+ * If one of the lists reports an update of an element, its key is recomputed and the rows combining this element are
+ * moved to the new matching elements or, if the key did not change, are recomputed.
+ */
+class JoinedList<L, R, K, T> extends ObservableListBase<T> implements EasyObservableList<T> {
+    private final BiFunction<? super L, ? super R, ? extends T> combiner;
+    private final Side<L, R> left;
+    private final Side<R, L> right;
+    private final PositionTree<Row> rows = new PositionTree<>();
+
+    JoinedList(ObservableList<? extends L> left, ObservableList<? extends R> right,
+               Function<? super L, ? extends K> leftKey, Function<? super R, ? extends K> rightKey,
+               BiFunction<? super L, ? super R, ? extends T> combiner) {
+        this.combiner = combiner;
+        this.left = new Side<>(left, leftKey, this::createRow);
+        this.right = new Side<>(right, rightKey, (member, match) -> createRow(match, member));
+        this.left.other = this.right;
+        this.right.other = this.left;
+
+        beginChange();
+        this.right.initialize();
+        this.left.initialize();
+        endChange();
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return rows.get(index).element.value;
+    }
+
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    private T combine(Row row) {
+        return combiner.apply(row.left.element, row.right.element);
+    }
+
+    private void createRow(Member<L> leftMember, Member<R> rightMember) {
+        Row row = new Row(leftMember, rightMember);
+        row.value = combine(row);
+        rows.insert(rows.size(), row.node);
+        leftMember.rows.add(row);
+        rightMember.rows.add(row);
+        nextAdd(rows.size() - 1, rows.size());
+    }
+
+    private void removeRow(Row row) {
+        int index = rows.rank(row.node);
+        rows.remove(row.node);
+        row.left.rows.remove(row);
+        row.right.rows.remove(row);
+        nextRemove(index, row.value);
+    }
+
+    /**
+     * One of the two joined lists together with the index of its elements by key.
+     *
+     * @param <S> the type of the elements of this list
+     * @param <O> the type of the elements of the other list
+     */
+    private class Side<S, O> {
+        private final ObservableList<? extends S> list;
+        private final Function<? super S, ? extends K> keyFunction;
+        // creates the row combining an element of this list with a matching element of the other list
+        private final BiConsumer<Member<S>, Member<O>> rowFactory;
+        private final ListChangeListener<S> listener = this::sourceChanged;
+        private final PositionTree<Member<S>> positions = new PositionTree<>();
+        private final Map<K, Set<Member<S>>> membersByKey = new HashMap<>();
+        private Side<O, S> other;
+
+        Side(ObservableList<? extends S> list, Function<? super S, ? extends K> keyFunction, BiConsumer<Member<S>, Member<O>> rowFactory) {
+            this.list = list;
+            this.keyFunction = keyFunction;
+            this.rowFactory = rowFactory;
+        }
+
+        void initialize() {
+            for (int i = 0; i < list.size(); i++) {
+                Member<S> member = new Member<>(list.get(i), keyFunction.apply(list.get(i)));
+                positions.insert(i, member.node);
+                addToIndex(member);
+            }
+            list.addListener(new WeakListChangeListener<>(listener));
+        }
+
+        private void sourceChanged(ListChangeListener.Change<? extends S> change) {
+            beginChange();
+            while (change.next()) {
+                int from = change.getFrom();
+                if (change.wasPermutated()) {
+                    permute(change);
+                } else if (change.wasUpdated()) {
+                    for (int i = from; i < change.getTo(); i++) {
+                        update(positions.get(i).element, list.get(i));
+                    }
+                } else {
+                    for (int i = 0; i < change.getRemovedSize(); i++) {
+                        Member<S> member = positions.get(from).element;
+                        removeFromIndex(member);
+                        positions.remove(member.node);
+                    }
+                    for (int i = from; i < change.getTo(); i++) {
+                        Member<S> member = new Member<>(list.get(i), keyFunction.apply(list.get(i)));
+                        positions.insert(i, member.node);
+                        addToIndex(member);
+                    }
+                }
+            }
+            endChange();
+        }
+
+        private void addToIndex(Member<S> member) {
+            membersByKey.computeIfAbsent(member.key, key -> new LinkedHashSet<>()).add(member);
+            for (Member<O> match : other.membersByKey.getOrDefault(member.key, Collections.emptySet())) {
+                rowFactory.accept(member, match);
+            }
+        }
+
+        private void removeFromIndex(Member<S> member) {
+            Set<Member<S>> members = membersByKey.get(member.key);
+            members.remove(member);
+            if (members.isEmpty()) {
+                membersByKey.remove(member.key);
+            }
+            for (Row row : new ArrayList<>(member.rows)) {
+                removeRow(row);
+            }
+        }
+
+        private void update(Member<S> member, S element) {
+            K key = keyFunction.apply(element);
+            if (Objects.equals(key, member.key)) {
+                member.element = element;
+                for (Row row : member.rows) {
+                    T oldValue = row.value;
+                    row.value = combine(row);
+                    nextSet(rows.rank(row.node), oldValue);
+                }
+            } else {
+                removeFromIndex(member);
+                member.element = element;
+                member.key = key;
+                addToIndex(member);
+            }
+        }
+
+        private void permute(ListChangeListener.Change<? extends S> change) {
+            // The order of the rows does not depend on the order of the lists, so only the positions are updated
+            List<Member<S>> members = new ArrayList<>(positions.size());
+            for (int i = 0; i < positions.size(); i++) {
+                members.add(positions.get(i).element);
+            }
+            List<Member<S>> permuted = new ArrayList<>(members);
+            for (int i = change.getFrom(); i < change.getTo(); i++) {
+                permuted.set(change.getPermutation(i), members.get(i));
+            }
+            positions.clear();
+            for (Member<S> member : permuted) {
+                positions.insert(positions.size(), member.node);
+            }
+        }
+    }
+
+    /**
+     * An element of one of the joined lists together with its position and the rows combining it.
+     */
+    private class Member<S> {
+        final PositionTree.Node<Member<S>> node = new PositionTree.Node<>(this);
+        final Set<Row> rows = new LinkedHashSet<>();
+        S element;
+        K key;
+
+        Member(S element, K key) {
+            this.element = element;
+            this.key = key;
+        }
+    }
+
+    private class Row {
+        final PositionTree.Node<Row> node = new PositionTree.Node<>(this);
+        final Member<L> left;
+        final Member<R> right;
+        T value;
+
+        Row(Member<L> left, Member<R> right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+}
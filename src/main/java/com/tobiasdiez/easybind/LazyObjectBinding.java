@@ -0,0 +1,196 @@
+package com.tobiasdiez.easybind;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.binding.ObjectBinding;
+import javafx.beans.value.ChangeListener;
+
+/**
+ * Object binding that listens to its dependencies either from its creation until it is disposed or,
+ * in the lazy mode, only while it has at least one listener.
+ * While a lazy binding is not observed, its value is not cached but recomputed on every call to {@link #get()}.
+ * <p>
+ * Subclasses register their listeners in {@link #observeDependencies()}, remove them in {@link #unobserveDependencies()}
+ * and have to call {@link #attachIfEager()} at the end of their constructor.
+ * <p>
+ * Once the binding is disposed (see {@link #detach()}), it no longer listens to its dependencies, even if listeners are
+ * added to it later. Like other disposed bindings, it then keeps its last value.
+ * <p>
+ * While {@link BindingGraph#setMetricsEnabled(boolean) metrics are enabled}, the binding counts its listeners and how
+ * often it is invalidated and recomputed, which is reported by {@link EasyBind#inspect}.
+ */
+abstract class LazyObjectBinding<T> extends ObjectBinding<T> {
+    private final boolean lazy;
+    private boolean attached = false;
+    private boolean disposed = false;
+    // listeners added minus listeners removed while metrics were enabled
+    private int listenerCount = 0;
+    // whether listeners were added or removed while metrics were disabled
+    private boolean listenerCountUnknown = false;
+    private long invalidationCount = 0;
+    private long recomputeCount = 0;
+    private long recomputeNanos = 0;
+
+    /**
+     * @param lazy whether to listen to the dependencies only while this binding is observed
+     */
+    protected LazyObjectBinding(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    /**
+     * Starts listening to the dependencies of this binding.
+     */
+    protected abstract void observeDependencies();
+
+    /**
+     * Stops listening to the dependencies of this binding.
+     */
+    protected abstract void unobserveDependencies();
+
+    @Override
+    public void addListener(InvalidationListener listener) {
+        super.addListener(listener);
+        countListener(1);
+        updateAttachment();
+    }
+
+    @Override
+    public void removeListener(InvalidationListener listener) {
+        super.removeListener(listener);
+        countListener(-1);
+        updateAttachment();
+    }
+
+    @Override
+    public void addListener(ChangeListener<? super T> listener) {
+        super.addListener(listener);
+        countListener(1);
+        updateAttachment();
+    }
+
+    @Override
+    public void removeListener(ChangeListener<? super T> listener) {
+        super.removeListener(listener);
+        countListener(-1);
+        updateAttachment();
+    }
+
+    /**
+     * implNote overwrite to measure the time needed to recompute the value if metrics are enabled.
+     * The measured time includes the recomputation of invalid dependencies.
+     */
+    @Override
+    public T getValue() {
+        if (!BindingGraph.isMetricsEnabled() || isValid()) {
+            return get();
+        }
+
+        long start = System.nanoTime();
+        T value = get();
+        recomputeNanos += System.nanoTime() - start;
+        recomputeCount++;
+        return value;
+    }
+
+    @Override
+    protected void onInvalidating() {
+        if (BindingGraph.isMetricsEnabled()) {
+            invalidationCount++;
+        }
+    }
+
+    @Override
+    protected boolean allowValidation() {
+        // Without listening to the dependencies, we would not notice when a cached value becomes outdated.
+        // A disposed binding keeps its last value instead of recomputing it on every call.
+        return attached || disposed;
+    }
+
+    /**
+     * Returns whether this binding currently listens to its dependencies.
+     */
+    protected final boolean isAttached() {
+        return attached;
+    }
+
+    /**
+     * Starts listening to the dependencies unless this binding is in the lazy mode.
+     */
+    protected final void attachIfEager() {
+        if (!lazy && !disposed) {
+            attach();
+        }
+    }
+
+    /**
+     * Stops listening to the dependencies for good, when this binding is disposed.
+     */
+    protected final void detach() {
+        disposed = true;
+        unobserve();
+    }
+
+    /**
+     * Returns the number of listeners added minus the number of listeners removed while metrics were enabled,
+     * or -1 if listeners were added or removed while metrics were disabled and the binding is still observed.
+     */
+    int getListenerCount() {
+        if (!isObserved()) {
+            return 0;
+        }
+        return listenerCountUnknown ? -1 : listenerCount;
+    }
+
+    long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    long getRecomputeCount() {
+        return recomputeCount;
+    }
+
+    long getRecomputeNanos() {
+        return recomputeNanos;
+    }
+
+    private void countListener(int delta) {
+        if (!isObserved()) {
+            // Without any listener, the count is known again
+            listenerCount = 0;
+            listenerCountUnknown = false;
+        } else if (BindingGraph.isMetricsEnabled()) {
+            listenerCount = Math.max(0, listenerCount + delta);
+        } else {
+            listenerCountUnknown = true;
+        }
+    }
+
+    private void attach() {
+        if (!attached) {
+            attached = true;
+            observeDependencies();
+        }
+    }
+
+    private void unobserve() {
+        if (attached) {
+            attached = false;
+            unobserveDependencies();
+        }
+    }
+
+    private void updateAttachment() {
+        if (lazy && !disposed) {
+            if (isObserved() && !attached) {
+                attach();
+                // Listeners are only notified about invalidations of a valid binding, but adding the first listener
+                // could not validate this binding as it was not attached at that time
+                get();
+            } else if (!isObserved() && attached) {
+                unobserve();
+                // The cached value is no longer kept up-to-date
+                invalidate();
+            }
+        }
+    }
+}
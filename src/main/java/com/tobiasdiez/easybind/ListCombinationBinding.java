@@ -1,31 +1,44 @@
 package com.tobiasdiez.easybind;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import javafx.beans.InvalidationListener;
-import javafx.beans.WeakInvalidationListener;
-import javafx.beans.binding.ObjectBinding;
+import javafx.beans.Observable;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
-import javafx.collections.WeakListChangeListener;
 
-class ListCombinationBinding<T, U> extends ObjectBinding<U> implements EasyBinding<U> {
+class ListCombinationBinding<T, U> extends LazyObjectBinding<U> implements EasyBinding<U> {
 
+    // need to retain strong reference to the listeners, since they are only weakly referenced by default
     private final InvalidationListener elemListener = obs -> elementInvalidated();
-    private final WeakInvalidationListener weakElemListener = new WeakInvalidationListener(elemListener);
     private final ListChangeListener<ObservableValue<? extends T>> listListener = ch -> sourceChanged(ch);
-    private final WeakListChangeListener<ObservableValue<? extends T>> weakListListener = new WeakListChangeListener<>(listListener);
+    private final boolean explicitLifecycle;
     private final ObservableList<? extends ObservableValue<? extends T>> source;
     private final Function<? super Stream<T>, ? extends U> combiner;
+    private final Subscription undisposedRegistration;
+    private Subscription listSubscription = Subscription.EMPTY;
+    // subscriptions to the elements, in the same order as the elements in the source list
+    private final List<Subscription> elemSubscriptions = new ArrayList<>();
 
-    public ListCombinationBinding(ObservableList<? extends ObservableValue<? extends T>> list, Function<? super Stream<T>, ? extends U> f) {
+    public ListCombinationBinding(ObservableList<? extends ObservableValue<? extends T>> list, Function<? super Stream<T>, ? extends U> f, BindingLifecycle lifecycle) {
+        super(lifecycle.isLazy());
+        explicitLifecycle = lifecycle.isExplicit();
         source = list;
         combiner = f;
+        undisposedRegistration = explicitLifecycle ? BindingLifecycle.registerUndisposed(this) : Subscription.EMPTY;
+        attachIfEager();
+    }
 
-        source.addListener(weakListListener);
-        source.forEach(elem -> elem.addListener(weakElemListener));
+    @Override
+    public ObservableList<?> getDependencies() {
+        ObservableList<Observable> dependencies = FXCollections.observableArrayList(source);
+        dependencies.addAll(source);
+        return FXCollections.unmodifiableObservableList(dependencies);
     }
 
     @Override
@@ -35,14 +48,40 @@ class ListCombinationBinding<T, U> extends ObjectBinding<U> implements EasyBindi
 
     @Override
     public void dispose() {
-        source.forEach(elem -> elem.removeListener(weakElemListener));
-        source.removeListener(weakListListener);
+        detach();
+        undisposedRegistration.unsubscribe();
+    }
+
+    @Override
+    protected void observeDependencies() {
+        listSubscription = BindingLifecycle.observeList(source, listListener, explicitLifecycle);
+        source.forEach(elem -> elemSubscriptions.add(BindingLifecycle.observe(elem, elemListener, explicitLifecycle)));
+    }
+
+    @Override
+    protected void unobserveDependencies() {
+        elemSubscriptions.forEach(Subscription::unsubscribe);
+        elemSubscriptions.clear();
+        listSubscription.unsubscribe();
+        listSubscription = Subscription.EMPTY;
     }
 
     private void sourceChanged(Change<? extends ObservableValue<? extends T>> ch) {
         while (ch.next()) {
-            ch.getRemoved().forEach(elem -> elem.removeListener(weakElemListener));
-            ch.getAddedSubList().forEach(elem -> elem.addListener(weakElemListener));
+            if (ch.wasPermutated()) {
+                List<Subscription> permuted = new ArrayList<>(elemSubscriptions.subList(ch.getFrom(), ch.getTo()));
+                for (int i = ch.getFrom(); i < ch.getTo(); i++) {
+                    elemSubscriptions.set(ch.getPermutation(i), permuted.get(i - ch.getFrom()));
+                }
+            } else if (!ch.wasUpdated()) {
+                List<Subscription> removed = elemSubscriptions.subList(ch.getFrom(), ch.getFrom() + ch.getRemovedSize());
+                removed.forEach(Subscription::unsubscribe);
+                removed.clear();
+
+                List<Subscription> added = new ArrayList<>(ch.getAddedSize());
+                ch.getAddedSubList().forEach(elem -> added.add(BindingLifecycle.observe(elem, elemListener, explicitLifecycle)));
+                elemSubscriptions.addAll(ch.getFrom(), added);
+            }
             invalidate();
         }
     }
@@ -1,14 +1,25 @@
 package com.tobiasdiez.easybind;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import javafx.beans.WeakListener;
+import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
 
 /**
  * Change listener that propagates changes to the given list.
+ * <p>
+ * In contrast to {@link com.sun.javafx.binding.ContentBinding.ListContentBinding}, permutations are applied in place,
+ * so that an observable target list fires a permutation instead of removing and re-adding the permuted elements.
+ * Moreover, parts of a change that are adjacent or overlap are applied as a single replacement of the range they cover,
+ * instead of one modification per part. All other parts are applied to the affected range of the target as they are.
  *
- * @implNote Copy of {@link com.sun.javafx.binding.ContentBinding.ListContentBinding}.
+ * @implNote Based on {@link com.sun.javafx.binding.ContentBinding.ListContentBinding}.
  */
 class ListContentBinding<E> implements ListChangeListener<E>, WeakListener {
     private final WeakReference<List<E>> listRef;
@@ -26,19 +37,88 @@ class ListContentBinding<E> implements ListChangeListener<E>, WeakListener {
         if (list == null) {
             change.getList().removeListener(this);
         } else {
+            // the range [from, to) of the source replaces the first removedSize elements of the target from position from
+            int from = -1;
+            int to = -1;
+            int removedSize = 0;
             while (change.next()) {
                 if (change.wasPermutated()) {
-                    list.subList(change.getFrom(), change.getTo()).clear();
-                    list.addAll(change.getFrom(), change.getList().subList(change.getFrom(), change.getTo()));
-                } else {
-                    if (change.wasRemoved()) {
-                        list.subList(change.getFrom(), change.getFrom() + change.getRemovedSize()).clear();
+                    if (from >= 0) {
+                        replace(list, change.getList(), from, to, removedSize);
+                        from = -1;
                     }
-                    if (change.wasAdded()) {
-                        list.addAll(change.getFrom(), change.getAddedSubList());
+                    permute(list, change);
+                } else if (change.wasAdded() || change.wasRemoved()) {
+                    int partFrom = change.getFrom();
+                    int partEnd = partFrom + change.getRemovedSize();
+                    if (from >= 0 && partFrom > to) {
+                        // The parts are not adjacent, so the pending replacement cannot be combined with this part
+                        replace(list, change.getList(), from, to, removedSize);
+                        from = -1;
                     }
+                    if (from < 0) {
+                        from = partFrom;
+                        to = partFrom;
+                        removedSize = 0;
+                    }
+                    // Elements removed by this part outside of the pending range are still contained in the target
+                    int start = Math.min(from, partFrom);
+                    int end = Math.max(to, partEnd);
+                    removedSize += (from - start) + (end - to);
+                    from = start;
+                    to = end - change.getRemovedSize() + change.getAddedSize();
                 }
             }
+            if (from >= 0) {
+                replace(list, change.getList(), from, to, removedSize);
+            }
+        }
+    }
+
+    /**
+     * Replaces {@code removedSize} elements of the target starting at {@code from} by the elements of the source between
+     * {@code from} and {@code to}. Later parts of a change only affect positions behind {@code to}, so these elements
+     * are already final.
+     */
+    private static <E> void replace(List<E> list, List<? extends E> source, int from, int to, int removedSize) {
+        if (removedSize == 1 && to - from == 1) {
+            list.set(from, source.get(from));
+            return;
+        }
+        if (removedSize > 0) {
+            list.subList(from, from + removedSize).clear();
+        }
+        if (to > from) {
+            list.addAll(from, source.subList(from, to));
+        }
+    }
+
+    private void permute(List<E> list, ListChangeListener.Change<? extends E> change) {
+        int from = change.getFrom();
+        int to = change.getTo();
+        if (list instanceof ObservableList && from == 0 && to == list.size()) {
+            // Sort the list by the new positions, which results in a single permutation event
+            // This requires that every element occurs only once, since otherwise the new position of an element is not unique
+            Map<E, Integer> newPositions = new IdentityHashMap<>(to - from);
+            boolean unique = true;
+            for (int i = from; i < to && unique; i++) {
+                unique = newPositions.put(list.get(i), change.getPermutation(i)) == null;
+            }
+            if (unique) {
+                FXCollections.sort((ObservableList<E>) list, Comparator.comparingInt(newPositions::get));
+                return;
+            }
+        }
+
+        if (list instanceof ObservableList) {
+            // An observable list can only be sorted as a whole, so only the permuted range is replaced
+            list.subList(from, to).clear();
+            list.addAll(from, change.getList().subList(from, to));
+        } else {
+            List<E> permuted = new ArrayList<>(list.subList(from, to));
+            for (int i = from; i < to; i++) {
+                list.set(change.getPermutation(i), permuted.get(i - from));
+            }
         }
     }
 
@@ -0,0 +1,99 @@
+package com.tobiasdiez.easybind;
+
+import java.util.Optional;
+import javafx.beans.Observable;
+import javafx.beans.value.ObservableIntegerValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+
+import com.tobiasdiez.easybind.optional.PreboundOptionalBinding;
+
+/**
+ * Optional binding holding the element of an {@link ObservableList} at a (possibly observable) position.
+ * <p>
+ * In contrast to a binding that depends on the whole list, this binding inspects the list changes and is only invalidated
+ * if the element at the position might have changed, i.e. if a change affects positions at or before the index.
+ */
+class ListValueAtBinding<E> extends PreboundOptionalBinding<E> {
+    private final ObservableList<E> list;
+    // the observable position, or null if the position is fixed
+    private final ObservableIntegerValue index;
+    private final int fixedIndex;
+    private final ListChangeListener<E> listListener = this::listChanged;
+    private final WeakListChangeListener<E> weakListListener = new WeakListChangeListener<>(listListener);
+
+    public ListValueAtBinding(ObservableList<E> list, int index) {
+        this.list = list;
+        this.index = null;
+        this.fixedIndex = index;
+        list.addListener(weakListListener);
+    }
+
+    public ListValueAtBinding(ObservableList<E> list, ObservableIntegerValue index) {
+        super(index);
+        this.list = list;
+        this.index = index;
+        this.fixedIndex = -1;
+        list.addListener(weakListListener);
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        list.removeListener(weakListListener);
+    }
+
+    @Override
+    public ObservableList<?> getDependencies() {
+        return index != null
+                ? FXCollections.unmodifiableObservableList(FXCollections.observableArrayList(list, index))
+                : FXCollections.singletonObservableList(list);
+    }
+
+    @Override
+    protected Observable[] getDerivedDependencies() {
+        // Only this binding knows which list changes are relevant
+        return new Observable[]{this};
+    }
+
+    @Override
+    protected Optional<E> computeValue() {
+        int position = getIndex();
+        if (position < 0 || position >= list.size()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(list.get(position));
+    }
+
+    private int getIndex() {
+        return index != null ? index.get() : fixedIndex;
+    }
+
+    private void listChanged(ListChangeListener.Change<? extends E> change) {
+        if (!isValid()) {
+            // Nothing to do, we will have a look at the list anyway
+            return;
+        }
+
+        int position = getIndex();
+        while (change.next()) {
+            if (affects(change, position)) {
+                invalidate();
+                return;
+            }
+        }
+    }
+
+    private static boolean affects(ListChangeListener.Change<?> change, int position) {
+        if (position < 0) {
+            return false;
+        }
+        if (change.wasPermutated() || change.wasUpdated()) {
+            return change.getFrom() <= position && position < change.getTo();
+        }
+        // Additions and removals shift all elements behind them
+        return change.getFrom() <= position;
+    }
+}
@@ -0,0 +1,42 @@
+package com.tobiasdiez.easybind;
+
+import java.util.function.Function;
+import javafx.beans.value.ObservableValue;
+
+/**
+ * Binding holding the result of applying the {@code mapper} function to the value of the {@code source} observable.
+ * <p>
+ * Mapping a binding of this type that is not observed does not create a binding on top of it.
+ * Instead, the mapping functions are composed into a new binding that directly depends on the {@code source},
+ * while the mapped binding itself is left unchanged.
+ * Thus every binding of a chain like {@code value.map(f).map(g).map(h)} depends on {@code value} directly,
+ * and in the {@link BindingLifecycle#withLazy lazy mode} only the observed bindings of the chain listen to {@code value}.
+ */
+class MapBinding<S, T> extends EasyPreboundBinding<T> {
+    private final ObservableValue<S> source;
+    private final Function<? super S, ? extends T> mapper;
+
+    public MapBinding(ObservableValue<S> source, Function<? super S, ? extends T> mapper, boolean lazy) {
+        super(lazy, source);
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    @Override
+    protected T computeValue() {
+        return mapper.apply(source.getValue());
+    }
+
+    /**
+     * Returns a binding holding the result of applying the given function to the value of this binding.
+     *
+     * @param lazy whether the returned binding only listens to its source while it is observed
+     */
+    <U> EasyBinding<U> compose(Function<? super T, ? extends U> next, boolean lazy) {
+        if (isObserved()) {
+            return new MapBinding<>(this, next, lazy);
+        }
+
+        return new MapBinding<S, U>(source, value -> next.apply(mapper.apply(value)), lazy);
+    }
+}
@@ -0,0 +1,161 @@
+package com.tobiasdiez.easybind;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableMap;
+
+/**
+ * Listens to an {@link ObservableMap} on behalf of all {@link MapValueAtBinding}s of this map
+ * and invalidates only the bindings whose key changed.
+ * <p>
+ * There is at most one dispatcher per map (compared by identity). It is registered at the map when the first binding
+ * is created and removed from the map once the last binding is disposed or garbage collected. The bindings are only
+ * weakly referenced, references to garbage collected bindings are removed in batches.
+ * <p>
+ * Keys are compared using {@link Object#equals(Object)}, so a dispatcher may only be used for maps that compare their
+ * keys in the same way, see {@link #isHashBased(ObservableMap)}. The registrations are guarded by the class lock.
+ */
+class MapKeyDispatcher<K, V> implements MapChangeListener<K, V> {
+    private static final Map<WeakIdentityReference<ObservableMap<?, ?>>, MapKeyDispatcher<?, ?>> DISPATCHERS = new HashMap<>();
+    private static final ReferenceQueue<ObservableMap<?, ?>> COLLECTED_MAPS = new ReferenceQueue<>();
+
+    // weak, since the dispatchers are kept in a static registry
+    private final WeakReference<ObservableMap<K, V>> map;
+    private final Map<K, List<WeakReference<MapValueAtBinding<K, V>>>> bindingsByKey = new HashMap<>();
+    private int bindingCount = 0;
+    private int registrationsSinceCleanup = 0;
+    private int changesSinceCleanup = 0;
+
+    private MapKeyDispatcher(ObservableMap<K, V> map) {
+        this.map = new WeakReference<>(map);
+    }
+
+    /**
+     * Returns whether the given map is known to look up its keys by their hash code and thus to compare them using
+     * {@link Object#equals(Object)}, like a {@link java.util.HashMap}. This is the case for the maps created by this
+     * library, whose content is kept in a hash map. Other maps, like a {@link java.util.TreeMap} with a custom
+     * comparator, may treat keys as equal that are not equal according to {@link Object#equals(Object)}, and there is
+     * no way to find out how a wrapped map compares its keys without calling into it.
+     */
+    static boolean isHashBased(ObservableMap<?, ?> map) {
+        return map instanceof ReadOnlyObservableMap;
+    }
+
+    static synchronized <K, V> void register(ObservableMap<K, V> map, K key, MapValueAtBinding<K, V> binding) {
+        expungeCollectedMaps();
+
+        @SuppressWarnings("unchecked")
+        MapKeyDispatcher<K, V> dispatcher = (MapKeyDispatcher<K, V>) DISPATCHERS.get(new WeakIdentityReference<>(map, null));
+        if (dispatcher == null) {
+            dispatcher = new MapKeyDispatcher<>(map);
+            DISPATCHERS.put(new WeakIdentityReference<>(map, COLLECTED_MAPS), dispatcher);
+            map.addListener(dispatcher);
+        }
+        dispatcher.add(key, binding);
+    }
+
+    static synchronized <K, V> void unregister(ObservableMap<K, V> map, K key, MapValueAtBinding<K, V> binding) {
+        @SuppressWarnings("unchecked")
+        MapKeyDispatcher<K, V> dispatcher = (MapKeyDispatcher<K, V>) DISPATCHERS.get(new WeakIdentityReference<>(map, null));
+        if (dispatcher == null) {
+            return;
+        }
+
+        dispatcher.remove(key, binding);
+        detachIfUnused(map, dispatcher);
+    }
+
+    private static synchronized <K, V> void detachIfUnused(ObservableMap<K, V> map, MapKeyDispatcher<K, V> dispatcher) {
+        if (dispatcher.bindingCount == 0) {
+            map.removeListener(dispatcher);
+            DISPATCHERS.remove(new WeakIdentityReference<>(map, null));
+        }
+    }
+
+    private static void expungeCollectedMaps() {
+        Reference<? extends ObservableMap<?, ?>> collected;
+        while ((collected = COLLECTED_MAPS.poll()) != null) {
+            DISPATCHERS.remove(collected);
+        }
+    }
+
+    @Override
+    public void onChanged(Change<? extends K, ? extends V> change) {
+        // Copy under the lock that guards the registrations, and invalidate outside of it, since invalidating a binding
+        // may lead to the creation or disposal of bindings
+        List<WeakReference<MapValueAtBinding<K, V>>> bindings;
+        synchronized (MapKeyDispatcher.class) {
+            List<WeakReference<MapValueAtBinding<K, V>>> registered = bindingsByKey.get(change.getKey());
+            bindings = registered != null ? new ArrayList<>(registered) : Collections.emptyList();
+
+            // Amortize the removal of garbage collected bindings over the changes, so that the dispatcher is detached
+            // from the map even if all bindings are garbage collected without being disposed
+            changesSinceCleanup++;
+            if (changesSinceCleanup > bindingCount / 2 + 16) {
+                changesSinceCleanup = 0;
+                removeCollectedBindings();
+                ObservableMap<K, V> map = this.map.get();
+                if (map != null) {
+                    detachIfUnused(map, this);
+                }
+            }
+        }
+
+        for (WeakReference<MapValueAtBinding<K, V>> reference : bindings) {
+            MapValueAtBinding<K, V> binding = reference.get();
+            if (binding != null) {
+                binding.invalidate();
+            }
+        }
+    }
+
+    private void add(K key, MapValueAtBinding<K, V> binding) {
+        bindingsByKey.computeIfAbsent(key, k -> new ArrayList<>(1)).add(new WeakReference<>(binding));
+        bindingCount++;
+
+        // Amortize the removal of garbage collected bindings over the registrations
+        registrationsSinceCleanup++;
+        if (registrationsSinceCleanup > bindingCount / 2 + 16) {
+            registrationsSinceCleanup = 0;
+            removeCollectedBindings();
+        }
+    }
+
+    private void remove(K key, MapValueAtBinding<K, V> binding) {
+        List<WeakReference<MapValueAtBinding<K, V>>> bindings = bindingsByKey.get(key);
+        if (bindings == null) {
+            return;
+        }
+
+        for (Iterator<WeakReference<MapValueAtBinding<K, V>>> iterator = bindings.iterator(); iterator.hasNext(); ) {
+            if (iterator.next().get() == binding) {
+                iterator.remove();
+                bindingCount--;
+                break;
+            }
+        }
+        if (bindings.isEmpty()) {
+            bindingsByKey.remove(key);
+        }
+    }
+
+    private void removeCollectedBindings() {
+        for (Iterator<List<WeakReference<MapValueAtBinding<K, V>>>> keys = bindingsByKey.values().iterator(); keys.hasNext(); ) {
+            List<WeakReference<MapValueAtBinding<K, V>>> bindings = keys.next();
+            int sizeBefore = bindings.size();
+            bindings.removeIf(reference -> reference.get() == null);
+            bindingCount -= sizeBefore - bindings.size();
+            if (bindings.isEmpty()) {
+                keys.remove();
+            }
+        }
+    }
+}
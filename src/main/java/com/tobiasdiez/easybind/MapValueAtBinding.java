@@ -0,0 +1,56 @@
+package com.tobiasdiez.easybind;
+
+import java.util.Optional;
+import javafx.beans.Observable;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableMap;
+
+import com.tobiasdiez.easybind.optional.PreboundOptionalBinding;
+
+/**
+ * Optional binding holding the value of an {@link ObservableMap} for a specific key.
+ * <p>
+ * Instead of listening to the map directly, the binding registers at the {@link MapKeyDispatcher} of the map,
+ * so that it is only invalidated if the value for its key changes.
+ */
+class MapValueAtBinding<K, V> extends PreboundOptionalBinding<V> {
+    private final ObservableMap<K, V> map;
+    private final K key;
+    private boolean registered;
+
+    public MapValueAtBinding(ObservableMap<K, V> map, K key) {
+        this.map = map;
+        this.key = key;
+        MapKeyDispatcher.register(map, key, this);
+        registered = true;
+    }
+
+    @Override
+    public void dispose() {
+        if (registered) {
+            registered = false;
+            MapKeyDispatcher.unregister(map, key, this);
+        }
+    }
+
+    @Override
+    public ObservableList<?> getDependencies() {
+        return FXCollections.singletonObservableList(map);
+    }
+
+    @Override
+    protected Observable[] getDerivedDependencies() {
+        // Only this binding is notified about changes of its key
+        return new Observable[]{this};
+    }
+
+    @Override
+    protected Optional<V> computeValue() {
+        try {
+            return Optional.ofNullable(map.get(key));
+        } catch (ClassCastException | NullPointerException ex) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.tobiasdiez.easybind;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable list that supports creating modified copies in logarithmic time.
+ * <p>
+ * The elements are stored in a tree (a treap ordered by position) and modifications only copy the nodes on the paths
+ * to the modified positions, so that a modified copy shares all other nodes with the original list.
+ * Accessing, replacing, inserting and removing a single element takes O(log n) expected time,
+ * inserting k elements takes O(k + log n).
+ */
+final class PersistentVector<E> extends AbstractList<E> {
+    private final Node<E> root;
+
+    private PersistentVector(Node<E> root) {
+        this.root = root;
+    }
+
+    static <E> PersistentVector<E> of(List<? extends E> elements) {
+        return new PersistentVector<>(build(elements));
+    }
+
+    @Override
+    public E get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        Node<E> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private final Deque<Node<E>> path = new ArrayDeque<>();
+
+            {
+                pushLeft(root);
+            }
+
+            private void pushLeft(Node<E> node) {
+                for (; node != null; node = node.left) {
+                    path.push(node);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<E> node = path.pop();
+                pushLeft(node.right);
+                return node.value;
+            }
+        };
+    }
+
+    /**
+     * Returns a copy of this list in which the element at the given position is replaced.
+     */
+    PersistentVector<E> with(int index, E element) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return new PersistentVector<>(replace(root, index, element));
+    }
+
+    /**
+     * Returns a copy of this list in which the elements between {@code from} (inclusive) and {@code to} (exclusive)
+     * are replaced by the given elements.
+     */
+    PersistentVector<E> replaceRange(int from, int to, List<? extends E> elements) {
+        if (from < 0 || to > size() || from > to) {
+            throw new IndexOutOfBoundsException("From: " + from + ", To: " + to + ", Size: " + size());
+        }
+
+        Split<E> head = split(root, from);
+        Split<E> tail = split(head.second, to - from);
+        return new PersistentVector<>(merge(merge(head.first, build(elements)), tail.second));
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <E> Node<E> replace(Node<E> node, int index, E element) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return new Node<>(node.value, node.priority, replace(node.left, index, element), node.right);
+        } else if (index == leftSize) {
+            return new Node<>(element, node.priority, node.left, node.right);
+        } else {
+            return new Node<>(node.value, node.priority, node.left, replace(node.right, index - leftSize - 1, element));
+        }
+    }
+
+    /**
+     * Splits the tree into a tree holding the first {@code count} elements and a tree holding the remaining ones.
+     */
+    private static <E> Split<E> split(Node<E> node, int count) {
+        if (node == null) {
+            return new Split<>(null, null);
+        }
+
+        int leftSize = size(node.left);
+        if (count <= leftSize) {
+            Split<E> leftSplit = split(node.left, count);
+            return new Split<>(leftSplit.first, new Node<>(node.value, node.priority, leftSplit.second, node.right));
+        } else {
+            Split<E> rightSplit = split(node.right, count - leftSize - 1);
+            return new Split<>(new Node<>(node.value, node.priority, node.left, rightSplit.first), rightSplit.second);
+        }
+    }
+
+    /**
+     * Concatenates the two trees.
+     */
+    private static <E> Node<E> merge(Node<E> first, Node<E> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+
+        if (first.priority > second.priority) {
+            return new Node<>(first.value, first.priority, first.left, merge(first.right, second));
+        } else {
+            return new Node<>(second.value, second.priority, merge(first, second.left), second.right);
+        }
+    }
+
+    /**
+     * Builds a tree holding the given elements in linear time.
+     */
+    private static <E> Node<E> build(List<? extends E> elements) {
+        if (elements.isEmpty()) {
+            return null;
+        }
+
+        // Build the tree along its right spine, the nodes are only modified before they are published
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Node<E>> rightSpine = new ArrayList<>();
+        for (E element : elements) {
+            Node<E> node = new Node<>(element, random.nextInt(), null, null);
+            Node<E> lastPopped = null;
+            while (!rightSpine.isEmpty() && rightSpine.get(rightSpine.size() - 1).priority < node.priority) {
+                lastPopped = rightSpine.remove(rightSpine.size() - 1);
+            }
+            node.left = lastPopped;
+            if (!rightSpine.isEmpty()) {
+                rightSpine.get(rightSpine.size() - 1).right = node;
+            }
+            rightSpine.add(node);
+        }
+
+        Node<E> root = rightSpine.get(0);
+        updateSizes(root);
+        return root;
+    }
+
+    private static int updateSizes(Node<?> node) {
+        if (node == null) {
+            return 0;
+        }
+        node.size = updateSizes(node.left) + updateSizes(node.right) + 1;
+        return node.size;
+    }
+
+    private static final class Node<E> {
+        private final E value;
+        private final int priority;
+        // Only modified while building a new tree
+        private Node<E> left;
+        private Node<E> right;
+        private int size;
+
+        Node(E value, int priority, Node<E> left, Node<E> right) {
+            this.value = value;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    /**
+     * The two trees resulting from splitting a tree.
+     */
+    private static final class Split<E> {
+        private final Node<E> first;
+        private final Node<E> second;
+
+        Split(Node<E> first, Node<E> second) {
+            this.first = first;
+            this.second = second;
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Balanced binary tree (a treap with random priorities) holding the elements of a source list in the order of their
+ * position, in which some nodes are marked (e.g., because they are part of a view of the source list) and every node
+ * knows the size of its subtree and how many marked nodes it contains. This allows to find the node at a given source
+ * or view index and the source and view index of a given node in logarithmic time.
+ * <p>
+ * Instead of by position, the nodes can also be kept in sorted order by inserting them using a comparator
+ * (see {@link #insert(Node, Comparator)}), which turns the tree into an order-statistic tree.
+ */
+class PositionTree<E> {
+    private Node<E> root = null;
+
+    void clear() {
+        root = null;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    int markedCount() {
+        return markedCount(root);
+    }
+
+    Node<E> get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        Node<E> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    Node<E> getMarked(int index) {
+        if (index < 0 || index >= markedCount()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + markedCount());
+        }
+
+        Node<E> node = root;
+        while (true) {
+            int leftCount = markedCount(node.left);
+            if (index < leftCount) {
+                node = node.left;
+            } else if (index == leftCount && node.marked) {
+                return node;
+            } else {
+                index -= leftCount + (node.marked ? 1 : 0);
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of nodes before the given node.
+     */
+    int rank(Node<E> node) {
+        int rank = size(node.left);
+        for (; node.parent != null; node = node.parent) {
+            if (node == node.parent.right) {
+                rank += size(node.parent.left) + 1;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the number of marked nodes before the given node.
+     */
+    int markedRank(Node<E> node) {
+        int rank = markedCount(node.left);
+        for (; node.parent != null; node = node.parent) {
+            if (node == node.parent.right) {
+                rank += markedCount(node.parent.left) + (node.parent.marked ? 1 : 0);
+            }
+        }
+        return rank;
+    }
+
+    void setMarked(Node<E> node, boolean marked) {
+        if (node.marked != marked) {
+            node.marked = marked;
+            for (; node != null; node = node.parent) {
+                node.markedCount += marked ? 1 : -1;
+            }
+        }
+    }
+
+    /**
+     * Returns all nodes that are marked (or not marked) in the order of their position.
+     */
+    List<Node<E>> nodes(boolean marked) {
+        List<Node<E>> nodes = new ArrayList<>();
+        collect(root, marked, nodes);
+        return nodes;
+    }
+
+    /**
+     * Returns all nodes in the order of their position.
+     */
+    List<Node<E>> nodes() {
+        List<Node<E>> nodes = new ArrayList<>(size());
+        collect(root, nodes);
+        return nodes;
+    }
+
+    private static <E> void collect(Node<E> node, List<Node<E>> nodes) {
+        // The recursion depth is logarithmic since the tree is balanced
+        if (node != null) {
+            collect(node.left, nodes);
+            nodes.add(node);
+            collect(node.right, nodes);
+        }
+    }
+
+    private static <E> void collect(Node<E> node, boolean marked, List<Node<E>> nodes) {
+        // Skip subtrees without matching nodes, the recursion depth is logarithmic since the tree is balanced
+        if (node != null && (marked ? node.markedCount > 0 : node.markedCount < node.size)) {
+            collect(node.left, marked, nodes);
+            if (node.marked == marked) {
+                nodes.add(node);
+            }
+            collect(node.right, marked, nodes);
+        }
+    }
+
+    /**
+     * Inserts the node at the given index. The inserted node is not marked.
+     */
+    void insert(int index, Node<E> node) {
+        resetNode(node);
+        if (root == null) {
+            root = node;
+            return;
+        }
+
+        // Descend to the position of the new node, which is either the rightmost node of the left subtree
+        // or the leftmost node of the right subtree
+        Node<E> current = root;
+        while (true) {
+            current.size++;
+            int leftSize = size(current.left);
+            if (index <= leftSize) {
+                if (current.left == null) {
+                    current.left = node;
+                    break;
+                }
+                current = current.left;
+            } else {
+                index -= leftSize + 1;
+                if (current.right == null) {
+                    current.right = node;
+                    break;
+                }
+                current = current.right;
+            }
+        }
+        node.parent = current;
+
+        while (node.parent != null && node.parent.priority < node.priority) {
+            rotateUp(node);
+        }
+    }
+
+    /**
+     * Inserts the node behind all nodes whose element is not greater and returns its index. This requires that the
+     * nodes are sorted with respect to the comparator. The inserted node is not marked.
+     */
+    int insert(Node<E> node, Comparator<? super E> comparator) {
+        resetNode(node);
+        if (root == null) {
+            root = node;
+            return 0;
+        }
+
+        Node<E> current = root;
+        while (true) {
+            current.size++;
+            if (comparator.compare(node.element, current.element) < 0) {
+                if (current.left == null) {
+                    current.left = node;
+                    break;
+                }
+                current = current.left;
+            } else {
+                if (current.right == null) {
+                    current.right = node;
+                    break;
+                }
+                current = current.right;
+            }
+        }
+        node.parent = current;
+
+        while (node.parent != null && node.parent.priority < node.priority) {
+            rotateUp(node);
+        }
+        return rank(node);
+    }
+
+    /**
+     * Replaces the content of this tree by the given nodes in the given order in linear time.
+     * The nodes keep whether they are marked.
+     */
+    void build(List<Node<E>> nodes) {
+        // Build the tree along its right spine, using the priorities of the nodes
+        List<Node<E>> rightSpine = new ArrayList<>();
+        for (Node<E> node : nodes) {
+            node.left = null;
+            node.right = null;
+            Node<E> lastPopped = null;
+            while (!rightSpine.isEmpty() && rightSpine.get(rightSpine.size() - 1).priority < node.priority) {
+                lastPopped = rightSpine.remove(rightSpine.size() - 1);
+            }
+            node.left = lastPopped;
+            if (lastPopped != null) {
+                lastPopped.parent = node;
+            }
+            if (rightSpine.isEmpty()) {
+                node.parent = null;
+            } else {
+                Node<E> parent = rightSpine.get(rightSpine.size() - 1);
+                parent.right = node;
+                node.parent = parent;
+            }
+            rightSpine.add(node);
+        }
+
+        root = rightSpine.isEmpty() ? null : rightSpine.get(0);
+        updateAggregatesOfSubtree(root);
+    }
+
+    void remove(Node<E> node) {
+        setMarked(node, false);
+        // Rotate the node down until it has at most one child
+        while (node.left != null && node.right != null) {
+            rotateUp(node.left.priority > node.right.priority ? node.left : node.right);
+        }
+
+        Node<E> child = node.left != null ? node.left : node.right;
+        replaceChild(node.parent, node, child);
+        for (Node<E> ancestor = node.parent; ancestor != null; ancestor = ancestor.parent) {
+            ancestor.size--;
+        }
+        node.parent = null;
+        node.left = null;
+        node.right = null;
+    }
+
+    private static void resetNode(Node<?> node) {
+        node.left = null;
+        node.right = null;
+        node.parent = null;
+        node.size = 1;
+        node.markedCount = 0;
+        node.marked = false;
+    }
+
+    private static void updateAggregatesOfSubtree(Node<?> node) {
+        // The recursion depth is logarithmic since the tree is balanced
+        if (node != null) {
+            updateAggregatesOfSubtree(node.left);
+            updateAggregatesOfSubtree(node.right);
+            updateAggregates(node);
+        }
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int markedCount(Node<?> node) {
+        return node == null ? 0 : node.markedCount;
+    }
+
+    private static void updateAggregates(Node<?> node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        node.markedCount = markedCount(node.left) + markedCount(node.right) + (node.marked ? 1 : 0);
+    }
+
+    private void rotateUp(Node<E> node) {
+        Node<E> parent = node.parent;
+        Node<E> grandParent = parent.parent;
+        if (node == parent.left) {
+            parent.left = node.right;
+            if (node.right != null) {
+                node.right.parent = parent;
+            }
+            node.right = parent;
+        } else {
+            parent.right = node.left;
+            if (node.left != null) {
+                node.left.parent = parent;
+            }
+            node.left = parent;
+        }
+        parent.parent = node;
+        replaceChild(grandParent, parent, node);
+        updateAggregates(parent);
+        updateAggregates(node);
+    }
+
+    private void replaceChild(Node<E> parent, Node<E> oldChild, Node<E> newChild) {
+        if (newChild != null) {
+            newChild.parent = parent;
+        }
+        if (parent == null) {
+            root = newChild;
+        } else if (parent.left == oldChild) {
+            parent.left = newChild;
+        } else {
+            parent.right = newChild;
+        }
+    }
+
+    static class Node<E> {
+        final int priority = ThreadLocalRandom.current().nextInt();
+        E element;
+        boolean marked = false;
+        Node<E> parent;
+        Node<E> left;
+        Node<E> right;
+        int size = 1;
+        int markedCount = 0;
+
+        Node(E element) {
+            this.element = element;
+        }
+    }
+}
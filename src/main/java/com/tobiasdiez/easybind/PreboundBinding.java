@@ -1,7 +1,8 @@
 package com.tobiasdiez.easybind;
 
 import javafx.beans.Observable;
-import javafx.beans.binding.ObjectBinding;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 
 /**
  * Object binding that binds to its dependencies on creation
@@ -10,17 +11,63 @@ import javafx.beans.binding.ObjectBinding;
  * To provide a concrete implementation of this class, the method {@link #computeValue()}
  * has to be implemented to calculate the value of this binding based on the current state of the dependencies.
  * This method is called when {@link #get()} is invoked for an invalid binding.
+ * <p>
+ * A binding created with {@link #PreboundBinding(boolean, Observable...)} and {@code lazy = true} only binds to its
+ * dependencies while it has at least one listener. While it is not observed, its value is not cached but recomputed
+ * on every call to {@link #get()}.
  */
-public abstract class PreboundBinding<T> extends ObjectBinding<T> {
+public abstract class PreboundBinding<T> extends LazyObjectBinding<T> {
     protected final Observable[] dependencies;
 
     public PreboundBinding(Observable... dependencies) {
+        this(false, dependencies);
+    }
+
+    /**
+     * @param lazy         whether to bind to the dependencies only while this binding is observed
+     * @param dependencies the dependencies of this binding
+     */
+    protected PreboundBinding(boolean lazy, Observable... dependencies) {
+        super(lazy);
         this.dependencies = dependencies;
+        attachIfEager();
+    }
+
+    /**
+     * Creates a binding that listens to its dependencies on its own. Subclasses using this constructor override
+     * {@link #observeDependencies()} and {@link #unobserveDependencies()} and have to call {@link #attachIfEager()}
+     * at the end of their constructor.
+     *
+     * @param lazy whether to listen to the dependencies only while this binding is observed
+     */
+    protected PreboundBinding(boolean lazy) {
+        super(lazy);
+        this.dependencies = new Observable[0];
+    }
+
+    /**
+     * Binds to the {@link #dependencies}.
+     */
+    @Override
+    protected void observeDependencies() {
         bind(dependencies);
     }
 
+    /**
+     * Unbinds from the {@link #dependencies}.
+     */
     @Override
-    public void dispose() {
+    protected void unobserveDependencies() {
         unbind(dependencies);
     }
+
+    @Override
+    public void dispose() {
+        detach();
+    }
+
+    @Override
+    public ObservableList<?> getDependencies() {
+        return FXCollections.unmodifiableObservableList(FXCollections.observableArrayList(dependencies));
+    }
 }
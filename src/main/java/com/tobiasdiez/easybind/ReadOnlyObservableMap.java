@@ -0,0 +1,57 @@
+package com.tobiasdiez.easybind;
+
+import java.util.AbstractMap;
+import java.util.Set;
+import javafx.beans.InvalidationListener;
+import javafx.collections.FXCollections;
+import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableMap;
+
+/**
+ * Base class for observable maps that are computed from a source and cannot be modified by their users.
+ * Subclasses maintain the content in {@link #backingMap}, whose changes are reported to the listeners of this map.
+ */
+abstract class ReadOnlyObservableMap<K, V> extends AbstractMap<K, V> implements ObservableMap<K, V> {
+    final ObservableMap<K, V> backingMap = FXCollections.observableHashMap();
+    private final ObservableMap<K, V> unmodifiableMap = FXCollections.unmodifiableObservableMap(backingMap);
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return unmodifiableMap.entrySet();
+    }
+
+    @Override
+    public V get(Object key) {
+        return backingMap.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return backingMap.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return backingMap.size();
+    }
+
+    @Override
+    public void addListener(MapChangeListener<? super K, ? super V> listener) {
+        unmodifiableMap.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(MapChangeListener<? super K, ? super V> listener) {
+        unmodifiableMap.removeListener(listener);
+    }
+
+    @Override
+    public void addListener(InvalidationListener listener) {
+        unmodifiableMap.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(InvalidationListener listener) {
+        unmodifiableMap.removeListener(listener);
+    }
+}
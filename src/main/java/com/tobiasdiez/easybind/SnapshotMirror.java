@@ -0,0 +1,150 @@
+package com.tobiasdiez.easybind;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakInvalidationListener;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+
+/**
+ * Keeps an immutable snapshot of the content of an observable list, which can be read from any thread without locking.
+ * <p>
+ * Each change of the list creates a new snapshot that shares most of its structure with the previous one,
+ * so that the cost of a change is proportional to the number of changed elements (plus a logarithmic overhead)
+ * instead of the size of the list. Snapshots returned by {@link #get()} never change, even if the list is modified
+ * afterwards.
+ *
+ * @see EasyBind#bindSnapshot(ObservableList)
+ */
+public final class SnapshotMirror<E> implements Subscription {
+    private final ObservableList<? extends E> source;
+    private final SnapshotListener<E> listener;
+
+    SnapshotMirror(ObservableList<? extends E> source) {
+        this.source = source;
+        this.listener = new SnapshotListener<>(source);
+        source.addListener((InvalidationListener) listener);
+        source.addListener((ListChangeListener<E>) listener);
+    }
+
+    /**
+     * Returns an immutable snapshot of the current content of the source list.
+     * This method can be called from any thread.
+     */
+    public List<E> get() {
+        return listener.snapshot;
+    }
+
+    /**
+     * Stops mirroring the source list. The last snapshot remains available through {@link #get()}.
+     */
+    @Override
+    public void unsubscribe() {
+        source.removeListener((InvalidationListener) listener);
+        source.removeListener((ListChangeListener<E>) listener);
+    }
+
+    /**
+     * Returns an immutable snapshot of the given list, as described in {@link EasyObservableList#snapshot()}.
+     */
+    static <E> List<E> snapshotOf(ObservableList<E> list) {
+        return SnapshotListener.sharedListenerOf(list).currentSnapshot(list);
+    }
+
+    /**
+     * Updates a persistent snapshot of a list on every change.
+     * <p>
+     * The listener counts the changes of the list when it is invalidated, which happens before any change listener is
+     * notified. The snapshot is up-to-date if it reflects the last counted change. Otherwise, it is either updated by
+     * the current change or, if several changes were counted since the snapshot was taken, rebuilt from the list.
+     * <p>
+     * Besides the listeners of {@link SnapshotMirror}s, there is at most one shared listener per list (compared by
+     * identity) that backs {@link EasyObservableList#snapshot()}. It is registered weakly on the first call, so it does
+     * not keep the list alive, and it is removed from the registry once the list is garbage collected.
+     */
+    private static final class SnapshotListener<E> implements ListChangeListener<E>, InvalidationListener {
+        private static final Map<WeakIdentityReference<ObservableList<?>>, SnapshotListener<?>> SHARED_LISTENERS = new HashMap<>();
+        private static final ReferenceQueue<ObservableList<?>> COLLECTED_LISTS = new ReferenceQueue<>();
+
+        // Written by the thread modifying the list, read by arbitrary threads
+        private volatile PersistentVector<E> snapshot;
+        // Number of changes of the list since this listener was created
+        private volatile long changeCount = 0;
+        // Number of changes reflected by the snapshot
+        private volatile long snapshotChangeCount = 0;
+
+        SnapshotListener(List<? extends E> list) {
+            snapshot = PersistentVector.of(list);
+        }
+
+        static synchronized <E> SnapshotListener<E> sharedListenerOf(ObservableList<E> list) {
+            Reference<? extends ObservableList<?>> collected;
+            while ((collected = COLLECTED_LISTS.poll()) != null) {
+                SHARED_LISTENERS.remove(collected);
+            }
+
+            // The list only holds weak listeners, so the listener is kept alive by the registry until the list is collected
+            @SuppressWarnings("unchecked")
+            SnapshotListener<E> listener = (SnapshotListener<E>) SHARED_LISTENERS.get(new WeakIdentityReference<>(list, null));
+            if (listener == null) {
+                listener = new SnapshotListener<>(list);
+                // Invalidation listeners are notified before all change listeners, even if those were added earlier
+                list.addListener(new WeakInvalidationListener(listener));
+                list.addListener(new WeakListChangeListener<>(listener));
+                SHARED_LISTENERS.put(new WeakIdentityReference<>(list, COLLECTED_LISTS), listener);
+            }
+            return listener;
+        }
+
+        /**
+         * Returns the snapshot of the given list, which is rebuilt if another listener of the list asks for it before
+         * this listener was notified about the current change.
+         */
+        List<E> currentSnapshot(ObservableList<E> list) {
+            long currentChangeCount = changeCount;
+            if (snapshotChangeCount != currentChangeCount) {
+                snapshot = PersistentVector.of(list);
+                snapshotChangeCount = currentChangeCount;
+            }
+            return snapshot;
+        }
+
+        @Override
+        public void invalidated(Observable observable) {
+            changeCount++;
+        }
+
+        @Override
+        public void onChanged(Change<? extends E> change) {
+            long currentChangeCount = changeCount;
+            if (snapshotChangeCount == currentChangeCount) {
+                // The snapshot was already rebuilt after this change
+                return;
+            }
+            if (snapshotChangeCount != currentChangeCount - 1) {
+                // The change does not describe all differences between the snapshot and the list
+                snapshot = PersistentVector.of(change.getList());
+            } else {
+                // Apply all parts of the change before publishing, so that readers never see an intermediate state
+                PersistentVector<E> updated = snapshot;
+                while (change.next()) {
+                    if (change.wasPermutated()) {
+                        updated = updated.replaceRange(change.getFrom(), change.getTo(), change.getList().subList(change.getFrom(), change.getTo()));
+                    } else if (change.wasReplaced() && change.getRemovedSize() == 1 && change.getAddedSize() == 1) {
+                        updated = updated.with(change.getFrom(), change.getAddedSubList().get(0));
+                    } else if (change.wasRemoved() || change.wasAdded()) {
+                        updated = updated.replaceRange(change.getFrom(), change.getFrom() + change.getRemovedSize(), change.getAddedSubList());
+                    }
+                }
+                snapshot = updated;
+            }
+            snapshotChangeCount = currentChangeCount;
+        }
+    }
+}
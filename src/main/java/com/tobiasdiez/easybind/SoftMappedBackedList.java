@@ -0,0 +1,109 @@
+package com.tobiasdiez.easybind;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.TransformationList;
+
+/**
+ * Variant of {@link MappedBackedList} that only keeps soft references to the converted elements, as returned by
+ * {@link EasyBind#mapBackedSoft}.
+ * <p>
+ * The elements are converted when they are inserted, but the garbage collector may reclaim the converted elements
+ * that are not used elsewhere when memory runs low. A reclaimed element is converted again when it is accessed (or
+ * reported as removed), so the content of this list and the changes it fires are the same as for
+ * {@link MappedBackedList}, except that a reclaimed element is replaced by a new instance.
+ */
+class SoftMappedBackedList<E, F> extends TransformationList<E, F> implements EasyObservableList<E> {
+
+    private final Function<F, E> mapper;
+    private final Function<E, Reference<E>> referenceFactory;
+    private final List<Reference<E>> backingList;
+
+    SoftMappedBackedList(ObservableList<? extends F> sourceList, Function<F, E> mapper) {
+        this(sourceList, mapper, SoftReference::new);
+    }
+
+    SoftMappedBackedList(ObservableList<? extends F> sourceList, Function<F, E> mapper, Function<E, Reference<E>> referenceFactory) {
+        super(sourceList);
+        this.mapper = mapper;
+        this.referenceFactory = referenceFactory;
+        this.backingList = new ArrayList<>(sourceList.size());
+        for (F element : sourceList) {
+            backingList.add(referenceFactory.apply(mapper.apply(element)));
+        }
+    }
+
+    @Override
+    protected void sourceChanged(ListChangeListener.Change<? extends F> change) {
+        beginChange();
+        while (change.next()) {
+            int from = change.getFrom();
+            int to = change.getTo();
+            if (change.wasPermutated()) {
+                int[] permutation = new int[to - from];
+                List<Reference<E>> permutedPart = new ArrayList<>(backingList.subList(from, to));
+                for (int i = from; i < to; i++) {
+                    permutation[i - from] = change.getPermutation(i);
+                    permutedPart.set(change.getPermutation(i) - from, backingList.get(i));
+                }
+                for (int i = from; i < to; i++) {
+                    backingList.set(i, permutedPart.get(i - from));
+                }
+                nextPermutation(from, to, permutation);
+            } else if (change.wasUpdated()) {
+                for (int i = from; i < to; i++) {
+                    backingList.set(i, referenceFactory.apply(mapper.apply(getSource().get(i))));
+                    nextUpdate(i);
+                }
+            } else {
+                if (change.wasRemoved()) {
+                    List<E> removed = new ArrayList<>(change.getRemovedSize());
+                    List<? extends F> removedSource = change.getRemoved();
+                    for (int i = 0; i < change.getRemovedSize(); i++) {
+                        E element = backingList.remove(from).get();
+                        removed.add(element != null ? element : mapper.apply(removedSource.get(i)));
+                    }
+                    nextRemove(from, removed);
+                }
+                if (change.wasAdded()) {
+                    for (int i = from; i < to; i++) {
+                        backingList.add(i, referenceFactory.apply(mapper.apply(getSource().get(i))));
+                    }
+                    nextAdd(from, to);
+                }
+            }
+        }
+        endChange();
+    }
+
+    @Override
+    public int getSourceIndex(int index) {
+        return index;
+    }
+
+    @Override
+    public int getViewIndex(int index) {
+        return index;
+    }
+
+    @Override
+    public E get(int index) {
+        E element = backingList.get(index).get();
+        if (element == null) {
+            // The converted element was reclaimed by the garbage collector
+            element = mapper.apply(getSource().get(index));
+            backingList.set(index, referenceFactory.apply(element));
+        }
+        return element;
+    }
+
+    @Override
+    public int size() {
+        return backingList.size();
+    }
+}
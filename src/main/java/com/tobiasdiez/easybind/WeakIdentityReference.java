@@ -0,0 +1,35 @@
+package com.tobiasdiez.easybind;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * Weak reference that compares the referenced objects by identity (and not using {@link Object#equals(Object)}),
+ * which makes it suitable as key of a registry that should not prevent the referenced objects from being garbage collected.
+ * Once the referenced object is garbage collected, the reference is only equal to itself.
+ */
+class WeakIdentityReference<T> extends WeakReference<T> {
+    private final int hash;
+
+    WeakIdentityReference(T referent, ReferenceQueue<? super T> queue) {
+        super(referent, queue);
+        this.hash = System.identityHashCode(referent);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof WeakIdentityReference)) {
+            return false;
+        }
+        Object referent = get();
+        return referent != null && referent == ((WeakIdentityReference<?>) obj).get();
+    }
+}
@@ -0,0 +1,222 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.value.ObservableIntegerValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.TransformationList;
+
+/**
+ * View of the elements of a list between two observable positions, as returned by {@link EasyObservableList#window}.
+ * <p>
+ * Only the elements inside the window are accessed and kept in this list, so that, for example, the mapper of an
+ * underlying {@link MappedList} only runs for the visible elements. Changes of the source list behind the window are
+ * ignored without accessing any element, and changes inside the window are clipped to it. A change before the window
+ * shifts the content of the window, which is reported as removal and addition of the elements that leave and enter
+ * the window at its boundaries. Source changes consisting of several parts that touch the window are reported as a
+ * single replacement of the part of the window that changed.
+ */
+class WindowList<E> extends TransformationList<E, E> implements EasyObservableList<E> {
+    private final ObservableIntegerValue from;
+    private final ObservableIntegerValue to;
+    private final InvalidationListener boundsListener = obs -> boundsChanged();
+    // the elements of the source list between start (inclusive) and end (exclusive)
+    private List<E> content;
+    private int start;
+    private int end;
+
+    WindowList(ObservableList<? extends E> source, ObservableIntegerValue from, ObservableIntegerValue to) {
+        super(source);
+        this.from = from;
+        this.to = to;
+        this.start = clampedStart();
+        this.end = clampedEnd(start);
+        this.content = new ArrayList<>(source.subList(start, end));
+
+        from.addListener(new WeakInvalidationListener(boundsListener));
+        to.addListener(new WeakInvalidationListener(boundsListener));
+    }
+
+    @Override
+    public E get(int index) {
+        return content.get(index);
+    }
+
+    @Override
+    public int size() {
+        return content.size();
+    }
+
+    @Override
+    public int getSourceIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return start + index;
+    }
+
+    /**
+     * Returns the index of the given source element in this list, or {@code -1} if the source element is outside the window.
+     */
+    @Override
+    public int getViewIndex(int index) {
+        return index >= start && index < end ? index - start : -1;
+    }
+
+    private int clampedStart() {
+        return Math.max(0, Math.min(from.get(), getSource().size()));
+    }
+
+    private int clampedEnd(int start) {
+        return Math.max(start, Math.min(to.get(), getSource().size()));
+    }
+
+    private void boundsChanged() {
+        int newStart = clampedStart();
+        int newEnd = clampedEnd(newStart);
+        beginChange();
+        move(newStart, newEnd, 0);
+        endChange();
+    }
+
+    @Override
+    protected void sourceChanged(ListChangeListener.Change<? extends E> change) {
+        // Only look at the elements if a change touches the window (or the positions before it)
+        int limit = Math.max(end, to.get());
+        int parts = 0;
+        boolean touchesWindow = false;
+        while (change.next()) {
+            parts++;
+            touchesWindow |= change.getFrom() < limit;
+        }
+        change.reset();
+        if (!touchesWindow) {
+            return;
+        }
+
+        beginChange();
+        change.next();
+        if (parts == 1 && change.wasUpdated()) {
+            for (int i = Math.max(change.getFrom(), start); i < Math.min(change.getTo(), end); i++) {
+                content.set(i - start, getSource().get(i));
+                nextUpdate(i - start);
+            }
+        } else if (parts == 1 && !change.wasPermutated()) {
+            applySingleChange(change.getFrom(), change.getRemovedSize(), change.getAddedSize());
+        } else {
+            replaceChangedPart();
+        }
+        endChange();
+    }
+
+    /**
+     * Updates the window after the source elements between {@code position} and {@code position + removedSize} were
+     * replaced by {@code addedSize} elements.
+     */
+    private void applySingleChange(int position, int removedSize, int addedSize) {
+        int newStart = clampedStart();
+        int newEnd = clampedEnd(newStart);
+        if (position >= start && newStart == start) {
+            // The change starts inside (or directly behind) the window
+            int index = position - start;
+            int removedInWindow = Math.max(0, Math.min(position + removedSize, end) - position);
+            int addedInWindow = Math.max(0, Math.min(position + addedSize, newEnd) - position);
+            if (removedInWindow > 0) {
+                List<E> removed = content.subList(index, index + removedInWindow);
+                nextRemove(index, new ArrayList<>(removed));
+                removed.clear();
+            }
+            if (addedInWindow > 0) {
+                content.addAll(index, getSource().subList(position, position + addedInWindow));
+                nextAdd(index, index + addedInWindow);
+            }
+
+            // The elements behind the change are shifted, so some may leave or enter the window at its end
+            int oldTail = Math.max(0, end - (position + removedSize));
+            int newTail = Math.max(0, newEnd - (position + addedSize));
+            int tailStart = index + addedInWindow;
+            if (newTail < oldTail) {
+                List<E> removed = content.subList(tailStart + newTail, tailStart + oldTail);
+                nextRemove(tailStart + newTail, new ArrayList<>(removed));
+                removed.clear();
+            } else if (newTail > oldTail) {
+                content.addAll(getSource().subList(newStart + tailStart + oldTail, newStart + tailStart + newTail));
+                nextAdd(tailStart + oldTail, tailStart + newTail);
+            }
+            end = newEnd;
+        } else if (position < start && newStart >= position + addedSize) {
+            // The change is before the window and only shifts its content
+            int shift = addedSize - removedSize;
+            move(newStart - shift, newEnd - shift, shift);
+        } else {
+            replaceChangedPart();
+        }
+    }
+
+    /**
+     * Moves the window to the given positions, which are given with respect to the positions of the current content.
+     * The elements entering the window are read from the source at their position plus {@code offset}.
+     */
+    private void move(int newStart, int newEnd, int offset) {
+        if (newStart >= end || newEnd <= start) {
+            if (!content.isEmpty()) {
+                nextRemove(0, new ArrayList<>(content));
+                content.clear();
+            }
+            if (newEnd > newStart) {
+                content.addAll(getSource().subList(newStart + offset, newEnd + offset));
+                nextAdd(0, newEnd - newStart);
+            }
+        } else {
+            if (newStart > start) {
+                List<E> removed = content.subList(0, newStart - start);
+                nextRemove(0, new ArrayList<>(removed));
+                removed.clear();
+            } else if (newStart < start) {
+                content.addAll(0, getSource().subList(newStart + offset, start + offset));
+                nextAdd(0, start - newStart);
+            }
+
+            // The content now starts at newStart and ends at end
+            if (newEnd < end) {
+                List<E> removed = content.subList(newEnd - newStart, content.size());
+                nextRemove(newEnd - newStart, new ArrayList<>(removed));
+                removed.clear();
+            } else if (newEnd > end) {
+                content.addAll(getSource().subList(end + offset, newEnd + offset));
+                nextAdd(end - newStart, newEnd - newStart);
+            }
+        }
+        start = newStart + offset;
+        end = newEnd + offset;
+    }
+
+    /**
+     * Reloads the window and reports the part between the unchanged elements at its beginning and its end as replaced.
+     */
+    private void replaceChangedPart() {
+        start = clampedStart();
+        end = clampedEnd(start);
+        List<E> newContent = new ArrayList<>(getSource().subList(start, end));
+
+        int prefix = 0;
+        while (prefix < content.size() && prefix < newContent.size() && content.get(prefix) == newContent.get(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < content.size() - prefix && suffix < newContent.size() - prefix
+                && content.get(content.size() - 1 - suffix) == newContent.get(newContent.size() - 1 - suffix)) {
+            suffix++;
+        }
+
+        List<E> removed = new ArrayList<>(content.subList(prefix, content.size() - suffix));
+        int addedEnd = newContent.size() - suffix;
+        content = newContent;
+        if (!removed.isEmpty() || addedEnd > prefix) {
+            nextReplace(prefix, addedEnd, removed);
+        }
+    }
+}
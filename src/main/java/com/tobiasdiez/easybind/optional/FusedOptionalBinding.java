@@ -0,0 +1,35 @@
+package com.tobiasdiez.easybind.optional;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Optional binding that holds the result of applying a pipeline of operators (such as {@code mapOpt} or {@code filter})
+ * to the value of a source binding.
+ * <p>
+ * Applying a further operator to this binding does not create a binding on top of this one, instead the operator
+ * is appended to the pipeline and a new binding that directly depends on the source is created.
+ * Moreover, this binding only binds to its dependencies while it is observed.
+ * Thus a chain of operators results in a single binding registered on the dependencies of the source,
+ * and intermediate bindings are only materialized if they are observed directly.
+ */
+class FusedOptionalBinding<S, T> extends PreboundOptionalBinding<T> {
+    private final PreboundOptionalBinding<S> source;
+    private final Function<Optional<S>, Optional<T>> pipeline;
+
+    public FusedOptionalBinding(PreboundOptionalBinding<S> source, Function<Optional<S>, Optional<T>> pipeline) {
+        super(true, source.getDerivedDependencies());
+        this.source = source;
+        this.pipeline = pipeline;
+    }
+
+    @Override
+    <U> OptionalBinding<U> fuse(Function<Optional<T>, Optional<U>> operator) {
+        return new FusedOptionalBinding<>(source, pipeline.andThen(operator));
+    }
+
+    @Override
+    protected Optional<T> computeValue() {
+        return pipeline.apply(source.getValue());
+    }
+}
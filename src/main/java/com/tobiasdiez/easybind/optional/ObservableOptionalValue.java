@@ -7,7 +7,7 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import javafx.beans.binding.BooleanBinding;
 import javafx.beans.property.Property;
-import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableObjectValue;
 import javafx.beans.value.ObservableValue;
@@ -140,18 +140,7 @@ public interface ObservableOptionalValue<T> extends ObservableObjectValue<Option
      * @see EasyBind#mapObservable(ObservableValue, Function)
      */
     default <U, O extends ObservableValue<U>> OptionalBinding<U> mapObservable(Function<? super T, O> mapper) {
-        // We will reuse the existing mapping method. For this we need to convert to optionals and back
-        // TODO: This is ugly, better way would be to implement a FlatMapBinding specific to optional values
-        Function<Optional<T>, ? extends ObservableValue<U>> mapperOpt = optionalVal -> {
-            Optional<O> newObservable = optionalVal.map(mapper);
-            if (newObservable.isPresent()) {
-                return newObservable.get();
-            } else {
-                return new ReadOnlyObjectWrapper<>(null);
-            }
-        };
-        EasyBinding<U> binding = EasyBind.mapObservable(this, mapperOpt);
-        return new OptionalWrapper<>(binding);
+        return new OptionalFlatMapBinding<>(this, mapper);
     }
 
     /**
@@ -159,14 +148,23 @@ public interface ObservableOptionalValue<T> extends ObservableObjectValue<Option
      * @see #mapObservable(Function)
      */
     default <U, O extends Property<U>> PropertyBinding<U> selectProperty(Function<? super T, O> mapper) {
-        // We will reuse the existing mapping method. For this we need to convert to optionals and back
-        // TODO: This is ugly, better way would be to implement a FlatMapBinding specific to optional values
-        Function<Optional<T>, ? extends Property<U>> mapperOpt = optionalVal -> {
-            Optional<O> newObs = optionalVal.map(mapper);
-            if (newObs.isPresent()) {
-                return newObs.get();
-            } else {
-                return new ReadOnlyObjectWrapper<U>(null);
+        // While this observable is empty, a placeholder property is selected (which is reused to avoid allocations).
+        // Its value is cleared each time it is selected again, so that values set in a previous empty phase are discarded.
+        Property<U> placeholder = new SimpleObjectProperty<>();
+        Function<Optional<T>, Property<U>> mapperOpt = new Function<Optional<T>, Property<U>>() {
+            private boolean placeholderSelected = false;
+
+            @Override
+            public Property<U> apply(Optional<T> optionalVal) {
+                if (optionalVal.isPresent()) {
+                    placeholderSelected = false;
+                    return mapper.apply(optionalVal.get());
+                }
+                if (!placeholderSelected) {
+                    placeholderSelected = true;
+                    placeholder.setValue(null);
+                }
+                return placeholder;
             }
         };
         return EasyBind.selectProperty(this, mapperOpt);
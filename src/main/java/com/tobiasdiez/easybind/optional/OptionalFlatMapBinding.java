@@ -0,0 +1,94 @@
+package com.tobiasdiez.easybind.optional;
+
+import java.util.Optional;
+import java.util.function.Function;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * Converts an observable holding an optional value of type {@code T} to an observable holding an optional value of type {@code U},
+ * using a {@code mapper} function that extracts an {@code ObservableValue<U>} from the source value, if present.
+ * The value hold by this class is the value hold by the extracted observable, or empty if the source is empty or the mapper returns {@code null}.
+ *
+ * @implNote In contrast to {@code EasyBind.mapObservable}, the presence of the source value is tracked directly
+ * so that no placeholder observables need to be created for empty values.
+ */
+class OptionalFlatMapBinding<T, U, O extends ObservableValue<U>> extends PreboundOptionalBinding<U> {
+    private final ObservableValue<Optional<T>> source;
+    private final Function<? super T, O> mapper;
+    // need to retain strong reference to listeners, so that they don't get garbage collected
+    private final InvalidationListener sourceListener = obs -> sourceInvalidated();
+    private final InvalidationListener weakSourceListener = new WeakInvalidationListener(sourceListener);
+    private final InvalidationListener mappedListener = obs -> invalidate();
+    private final InvalidationListener weakMappedListener = new WeakInvalidationListener(mappedListener);
+    private O mapped = null;
+    // whether the source was invalidated since the mapped observable was resolved
+    private boolean sourceStale = true;
+
+    public OptionalFlatMapBinding(ObservableValue<Optional<T>> source, Function<? super T, O> mapper) {
+        this.source = source;
+        this.mapper = mapper;
+        source.addListener(weakSourceListener);
+    }
+
+    @Override
+    public void dispose() {
+        source.removeListener(weakSourceListener);
+        disposeMapped();
+    }
+
+    @Override
+    public ObservableList<?> getDependencies() {
+        return mapped != null
+                ? FXCollections.unmodifiableObservableList(FXCollections.<Observable>observableArrayList(source, mapped))
+                : FXCollections.singletonObservableList(source);
+    }
+
+    @Override
+    protected Observable[] getDerivedDependencies() {
+        // The mapped observable changes over time, so derived bindings have to listen to this binding
+        return new Observable[]{this};
+    }
+
+    @Override
+    protected Optional<U> computeValue() {
+        setupTargetObservable();
+        if (mapped == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(mapped.getValue());
+    }
+
+    private void setupTargetObservable() {
+        if (sourceStale) {
+            sourceStale = false;
+            Optional<T> baseVal = source.getValue();
+            O newMapped = baseVal.isPresent() ? mapper.apply(baseVal.get()) : null;
+            // Keep listening if the mapper returns the observable we are already connected to
+            if (newMapped != mapped) {
+                disposeMapped();
+                mapped = newMapped;
+                if (mapped != null) {
+                    mapped.addListener(weakMappedListener);
+                }
+            }
+        }
+    }
+
+    private void disposeMapped() {
+        if (mapped != null) {
+            mapped.removeListener(weakMappedListener);
+            mapped = null;
+        }
+        sourceStale = true;
+    }
+
+    private void sourceInvalidated() {
+        sourceStale = true;
+        invalidate();
+    }
+}
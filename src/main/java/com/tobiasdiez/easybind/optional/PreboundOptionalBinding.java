@@ -1,5 +1,6 @@
 package com.tobiasdiez.easybind.optional;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
@@ -9,6 +10,7 @@ import javafx.beans.binding.Bindings;
 import javafx.beans.binding.BooleanBinding;
 import javafx.beans.value.ObservableValue;
 
+import com.tobiasdiez.easybind.EasyBind;
 import com.tobiasdiez.easybind.EasyBinding;
 import com.tobiasdiez.easybind.EasyPreboundBinding;
 import com.tobiasdiez.easybind.PreboundBinding;
@@ -27,32 +29,43 @@ public abstract class PreboundOptionalBinding<T> extends PreboundBinding<Optiona
         super(dependencies);
     }
 
+    /**
+     * @see PreboundBinding#PreboundBinding(boolean, Observable...)
+     */
+    protected PreboundOptionalBinding(boolean lazy, Observable... dependencies) {
+        super(lazy, dependencies);
+    }
+
+    /**
+     * Returns the observables that bindings derived from this binding (for example, via {@link #mapOpt(Function)}) depend on.
+     * By default, these are the dependencies of this binding, so that derived bindings do not have to be notified through this binding.
+     */
+    protected Observable[] getDerivedDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * Creates a binding that holds the result of applying the given operator to the value of this binding.
+     * Operators applied to the returned binding are fused into a single pipeline, see {@link FusedOptionalBinding}.
+     */
+    <U> OptionalBinding<U> fuse(Function<Optional<T>, Optional<U>> operator) {
+        return new FusedOptionalBinding<>(this, operator);
+    }
+
     @Override
     public <U> OptionalBinding<U> mapOpt(Function<? super T, ? extends U> mapper) {
-        return new PreboundOptionalBinding<U>(dependencies) {
-
-            @Override
-            protected Optional<U> computeValue() {
-                return PreboundOptionalBinding.this.getValue().map(mapper);
-            }
-        };
+        return fuse(value -> value.map(mapper));
     }
 
     @Override
     public <U> OptionalBinding<U> flatMapOpt(Function<T, Optional<U>> mapper) {
         // TODO: The method should actually accept Function<? super T, ? extends Optional<? extends U>> mapper but this currently leads to compiler errors (with Java 8?)
-        return new PreboundOptionalBinding<U>(dependencies) {
-
-            @Override
-            protected Optional<U> computeValue() {
-                return PreboundOptionalBinding.this.getValue().flatMap(mapper);
-            }
-        };
+        return fuse(value -> value.flatMap(mapper));
     }
 
     @Override
     public EasyBinding<T> orElseOpt(T other) {
-        return new EasyPreboundBinding<T>(dependencies) {
+        return new EasyPreboundBinding<T>(getDerivedDependencies()) {
             @Override
             protected T computeValue() {
                 return PreboundOptionalBinding.this.getValue().orElse(other);
@@ -62,27 +75,22 @@ public abstract class PreboundOptionalBinding<T> extends PreboundBinding<Optiona
 
     @Override
     public OptionalBinding<T> orElseOpt(ObservableValue<T> other) {
-        return new FirstNonNullBinding<>(this.asOrdinary(), other);
+        return EasyBind.firstNonNull(Arrays.asList(this.asOrdinary(), other));
     }
 
     @Override
     public OptionalBinding<T> filter(Predicate<? super T> predicate) {
         Objects.requireNonNull(predicate);
-        return new PreboundOptionalBinding<T>(dependencies) {
-            @Override
-            protected Optional<T> computeValue() {
-                return PreboundOptionalBinding.this.getValue().filter(predicate);
-            }
-        };
+        return fuse(value -> value.filter(predicate));
     }
 
     @Override
     public BooleanBinding isPresent() {
-        return Bindings.createBooleanBinding(() -> PreboundOptionalBinding.this.getValue().isPresent(), dependencies);
+        return Bindings.createBooleanBinding(() -> PreboundOptionalBinding.this.getValue().isPresent(), getDerivedDependencies());
     }
 
     @Override
     public BooleanBinding isEmpty() {
-        return Bindings.createBooleanBinding(() -> !PreboundOptionalBinding.this.getValue().isPresent(), dependencies);
+        return Bindings.createBooleanBinding(() -> !PreboundOptionalBinding.this.getValue().isPresent(), getDerivedDependencies());
     }
 }
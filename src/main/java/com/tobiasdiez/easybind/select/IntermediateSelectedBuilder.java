@@ -16,8 +16,8 @@ class IntermediateSelectedBuilder<T, U> implements ParentSelectedBuilder<U> {
 
     @Override
     public <V> EasyBinding<V> create(NestedSelectionElementFactory<U, V> nestedSelectionFactory) {
-        NestedSelectionElementFactory<T, V> intermediateSelectionFactory = onInvalidation -> {
-            return new IntermediateSelectionElement<T, U, V>(onInvalidation, selector, nestedSelectionFactory);
+        NestedSelectionElementFactory<T, V> intermediateSelectionFactory = (onInvalidation, reuseUnchanged) -> {
+            return new IntermediateSelectionElement<T, U, V>(onInvalidation, selector, nestedSelectionFactory, reuseUnchanged);
         };
         return parent.create(intermediateSelectionFactory);
     }
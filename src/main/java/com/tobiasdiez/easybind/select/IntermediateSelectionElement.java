@@ -1,20 +1,27 @@
 package com.tobiasdiez.easybind.select;
 
+import java.util.List;
 import java.util.function.Function;
 import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.beans.value.ObservableValue;
 
 class IntermediateSelectionElement<T, U, V> implements NestedSelectionElement<T, V> {
     private final Function<? super T, ObservableValue<U>> selector;
     private final NestedSelectionElement<U, V> nested;
     private final Runnable onInvalidation;
+    private final boolean reuseUnchanged;
     private final InvalidationListener observableInvalidationListener = obs -> observableInvalidated();
     private ObservableValue<U> observable = null;
+    // the value the nested element is connected to and whether it has to be compared against the current value
+    private U nestedBaseVal = null;
+    private boolean observableStale = false;
 
-    public IntermediateSelectionElement(Runnable onInvalidation, Function<? super T, ObservableValue<U>> selector, NestedSelectionElementFactory<U, V> nestedSelectionFactory) {
+    public IntermediateSelectionElement(Runnable onInvalidation, Function<? super T, ObservableValue<U>> selector, NestedSelectionElementFactory<U, V> nestedSelectionFactory, boolean reuseUnchanged) {
         this.onInvalidation = onInvalidation;
         this.selector = selector;
-        this.nested = nestedSelectionFactory.create(this::nestedInvalidated);
+        this.reuseUnchanged = reuseUnchanged;
+        this.nested = nestedSelectionFactory.create(this::nestedInvalidated, reuseUnchanged);
     }
 
     @Override
@@ -30,12 +37,20 @@ class IntermediateSelectionElement<T, U, V> implements NestedSelectionElement<T,
     @Override
     public void disconnect() {
         if (isConnected()) {
-            nested.disconnect();
+            disconnectNested();
             observable.removeListener(observableInvalidationListener);
             observable = null;
         }
     }
 
+    @Override
+    public void collectDependencies(List<Observable> dependencies) {
+        if (isConnected()) {
+            dependencies.add(observable);
+            nested.collectDependencies(dependencies);
+        }
+    }
+
     @Override
     public final boolean isConnected() {
         return observable != null;
@@ -47,23 +62,42 @@ class IntermediateSelectionElement<T, U, V> implements NestedSelectionElement<T,
             throw new IllegalStateException("Not connected");
         }
 
+        if (observableStale) {
+            observableStale = false;
+            if (observable.getValue() != nestedBaseVal) {
+                disconnectNested();
+            }
+        }
+
         if (!nested.isConnected()) {
             U observableVal = observable.getValue();
             if (observableVal == null) {
                 return null;
             }
             nested.connect(observableVal);
+            nestedBaseVal = observableVal;
         }
 
         return nested.getValue();
     }
 
+    private void disconnectNested() {
+        nested.disconnect();
+        nestedBaseVal = null;
+        observableStale = false;
+    }
+
     private void nestedInvalidated() {
         onInvalidation.run();
     }
 
     private void observableInvalidated() {
-        nested.disconnect();
+        if (reuseUnchanged && nested.isConnected()) {
+            // keep the nested connections until we know whether the value actually changed
+            observableStale = true;
+        } else {
+            disconnectNested();
+        }
         onInvalidation.run();
     }
 }
@@ -1,7 +1,9 @@
 package com.tobiasdiez.easybind.select;
 
+import java.util.List;
 import java.util.function.Function;
 import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.beans.value.ObservableValue;
 
 class LeafSelectionElement<T, U> implements NestedSelectionElement<T, U> {
@@ -34,6 +36,13 @@ class LeafSelectionElement<T, U> implements NestedSelectionElement<T, U> {
         }
     }
 
+    @Override
+    public void collectDependencies(List<Observable> dependencies) {
+        if (isConnected()) {
+            dependencies.add(observable);
+        }
+    }
+
     @Override
     public final boolean isConnected() {
         return observable != null;
@@ -1,5 +1,8 @@
 package com.tobiasdiez.easybind.select;
 
+import java.util.List;
+import javafx.beans.Observable;
+
 interface NestedSelectionElement<T, U> {
     void connect(T baseVal);
 
@@ -8,4 +11,9 @@ interface NestedSelectionElement<T, U> {
     boolean isConnected();
 
     U getValue();
+
+    /**
+     * Adds the observables this element and its nested elements are currently connected to.
+     */
+    void collectDependencies(List<Observable> dependencies);
 }
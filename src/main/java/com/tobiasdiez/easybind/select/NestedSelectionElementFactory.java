@@ -2,5 +2,5 @@ package com.tobiasdiez.easybind.select;
 
 @FunctionalInterface
 interface NestedSelectionElementFactory<T, U> {
-    NestedSelectionElement<T, U> create(Runnable invalidationCallback);
+    NestedSelectionElement<T, U> create(Runnable invalidationCallback, boolean reuseUnchanged);
 }
@@ -13,7 +13,7 @@ interface ParentSelectedBuilder<T> extends SelectBuilder<T> {
 
     @Override
     default <U> EasyBinding<U> selectObject(Function<? super T, ObservableValue<U>> selector) {
-        NestedSelectionElementFactory<T, U> leafSelectionFactory = onInvalidation -> {
+        NestedSelectionElementFactory<T, U> leafSelectionFactory = (onInvalidation, reuseUnchanged) -> {
             return new LeafSelectionElement<T, U>(onInvalidation, selector);
         };
         return create(leafSelectionFactory);
@@ -6,13 +6,17 @@ import com.tobiasdiez.easybind.EasyBinding;
 
 class RootSelectedBuilder<T> implements ParentSelectedBuilder<T> {
     private final ObservableValue<T> root;
+    private final boolean reuseUnchanged;
+    private final boolean lazy;
 
-    public RootSelectedBuilder(ObservableValue<T> root) {
+    public RootSelectedBuilder(ObservableValue<T> root, boolean reuseUnchanged, boolean lazy) {
         this.root = root;
+        this.reuseUnchanged = reuseUnchanged;
+        this.lazy = lazy;
     }
 
     @Override
     public <U> EasyBinding<U> create(NestedSelectionElementFactory<T, U> nestedSelectionFactory) {
-        return new SelectObjectBinding<T, U>(root, nestedSelectionFactory);
+        return new SelectObjectBinding<T, U>(root, nestedSelectionFactory, reuseUnchanged, lazy);
     }
 }
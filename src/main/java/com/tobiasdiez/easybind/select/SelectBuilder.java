@@ -3,11 +3,37 @@ package com.tobiasdiez.easybind.select;
 import java.util.function.Function;
 import javafx.beans.value.ObservableValue;
 
+import com.tobiasdiez.easybind.BindingLifecycle;
 import com.tobiasdiez.easybind.EasyBinding;
 
 public interface SelectBuilder<T> {
     static <T> SelectBuilder<T> startAt(ObservableValue<T> selectionRoot) {
-        return new RootSelectedBuilder<T>(selectionRoot);
+        return startAt(selectionRoot, BindingLifecycle.DEFAULT);
+    }
+
+    /**
+     * Like {@link #startAt(ObservableValue)}, but the selection binding is created with the given lifecycle options.
+     */
+    static <T> SelectBuilder<T> startAt(ObservableValue<T> selectionRoot, BindingLifecycle lifecycle) {
+        return new RootSelectedBuilder<T>(selectionRoot, false, lifecycle.isLazy());
+    }
+
+    /**
+     * Like {@link #startAt(ObservableValue)}, but when an element of the chain is invalidated and afterwards still holds
+     * the identical object, the connections further down the chain are kept instead of being removed and re-added.
+     * <p>
+     * In this mode, the listeners on the previously selected objects are only removed once the value of the selection is
+     * requested again.
+     */
+    static <T> SelectBuilder<T> startAtReusingUnchanged(ObservableValue<T> selectionRoot) {
+        return startAtReusingUnchanged(selectionRoot, BindingLifecycle.DEFAULT);
+    }
+
+    /**
+     * Like {@link #startAtReusingUnchanged(ObservableValue)}, but the selection binding is created with the given lifecycle options.
+     */
+    static <T> SelectBuilder<T> startAtReusingUnchanged(ObservableValue<T> selectionRoot, BindingLifecycle lifecycle) {
+        return new RootSelectedBuilder<T>(selectionRoot, true, lifecycle.isLazy());
     }
 
     <U> SelectBuilder<U> select(Function<? super T, ObservableValue<U>> selector);
@@ -1,41 +1,96 @@
 package com.tobiasdiez.easybind.select;
 
+import java.util.ArrayList;
+import java.util.List;
 import javafx.beans.InvalidationListener;
-import javafx.beans.binding.ObjectBinding;
+import javafx.beans.Observable;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 
 import com.tobiasdiez.easybind.EasyBinding;
+import com.tobiasdiez.easybind.PreboundBinding;
 
-class SelectObjectBinding<T, U> extends ObjectBinding<U> implements EasyBinding<U> {
+class SelectObjectBinding<T, U> extends PreboundBinding<U> implements EasyBinding<U> {
     private final ObservableValue<T> root;
     private final NestedSelectionElement<T, U> nestedSelection;
     private final InvalidationListener rootInvalidationListener;
+    // the root value the nested selection is connected to and whether it has to be compared against the current value
+    private T nestedRootVal = null;
+    private boolean rootStale = false;
 
-    public SelectObjectBinding(ObservableValue<T> root, NestedSelectionElementFactory<T, U> nestedSelectionFactory) {
+    public SelectObjectBinding(ObservableValue<T> root, NestedSelectionElementFactory<T, U> nestedSelectionFactory, boolean reuseUnchanged, boolean lazy) {
+        super(lazy);
         this.root = root;
-        nestedSelection = nestedSelectionFactory.create(this::invalidate);
+        nestedSelection = nestedSelectionFactory.create(this::invalidate, reuseUnchanged);
         rootInvalidationListener = obs -> {
-            nestedSelection.disconnect();
+            if (reuseUnchanged && nestedSelection.isConnected()) {
+                // keep the nested connections until we know whether the root value actually changed
+                rootStale = true;
+            } else {
+                disconnectNested();
+            }
             invalidate();
         };
+        attachIfEager();
+    }
+
+    @Override
+    protected void observeDependencies() {
         root.addListener(rootInvalidationListener);
     }
 
+    @Override
+    protected void unobserveDependencies() {
+        root.removeListener(rootInvalidationListener);
+        disconnectNested();
+    }
+
+    @Override
+    public ObservableList<?> getDependencies() {
+        List<Observable> dependencies = new ArrayList<>();
+        dependencies.add(root);
+        nestedSelection.collectDependencies(dependencies);
+        return FXCollections.unmodifiableObservableList(FXCollections.observableList(dependencies));
+    }
+
     @Override
     protected U computeValue() {
+        if (!isAttached()) {
+            // Compute the value on demand without staying connected to the selected observables
+            T rootVal = root.getValue();
+            if (rootVal == null) {
+                return null;
+            }
+            nestedSelection.connect(rootVal);
+            try {
+                return nestedSelection.getValue();
+            } finally {
+                nestedSelection.disconnect();
+            }
+        }
+
+        if (rootStale) {
+            rootStale = false;
+            if (root.getValue() != nestedRootVal) {
+                disconnectNested();
+            }
+        }
+
         if (!nestedSelection.isConnected()) {
             T rootVal = root.getValue();
             if (rootVal == null) {
                 return null;
             }
             nestedSelection.connect(rootVal);
+            nestedRootVal = rootVal;
         }
         return nestedSelection.getValue();
     }
 
-    @Override
-    public void dispose() {
-        root.removeListener(rootInvalidationListener);
+    private void disconnectNested() {
         nestedSelection.disconnect();
+        nestedRootVal = null;
+        rootStale = false;
     }
 }
@@ -0,0 +1,191 @@
+package com.tobiasdiez.easybind;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.Property;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BindingLifecycleTest {
+
+    @AfterEach
+    public void resetLifecycle() {
+        BindingLifecycle.stopTrackingUndisposedBindings();
+    }
+
+    @Test
+    public void explicitBindingsAreRegisteredUntilDisposed() {
+        BindingLifecycle explicit = BindingLifecycle.DEFAULT.withExplicit(true);
+        BindingLifecycle.trackUndisposedBindings(1);
+        int undisposedBefore = BindingLifecycle.getUndisposedBindings().size();
+
+        Property<String> selected = new SimpleObjectProperty<>("a");
+        Property<String> other = new SimpleObjectProperty<>("b");
+        Property<Property<String>> outer = new SimpleObjectProperty<>(selected);
+        EasyBinding<String> inner = explicit.mapObservable(outer, p -> p);
+        ObservableList<ObservableValue<String>> list = FXCollections.observableArrayList(selected, other);
+        EasyBinding<String> joined = explicit.combine(list, stream -> stream.collect(Collectors.joining(",")));
+
+        assertEquals(undisposedBefore + 2, BindingLifecycle.getUndisposedBindings().size());
+        assertTrue(BindingLifecycle.getUndisposedBindings().stream().allMatch(binding -> binding.getAllocationSite().isPresent()));
+
+        // check that the bindings still work with plain listeners
+        Counter counter = new Counter();
+        inner.addListener(obs -> counter.inc());
+        assertEquals("a", inner.get());
+        assertEquals("a,b", joined.get());
+        selected.setValue("c");
+        assertEquals(1, counter.getAndReset());
+        assertEquals("c", inner.get());
+        assertEquals("c,b", joined.get());
+        outer.setValue(other);
+        assertEquals(1, counter.getAndReset());
+        assertEquals("b", inner.get());
+
+        inner.dispose();
+        joined.dispose();
+        assertEquals(undisposedBefore, BindingLifecycle.getUndisposedBindings().size());
+        other.setValue("d");
+        assertEquals(0, counter.get());
+    }
+
+    @Test
+    public void lazyBindingsOnlyListenWhileObserved() {
+        BindingLifecycle lazy = BindingLifecycle.DEFAULT.withLazy(true);
+
+        Counter listenerCount = new Counter();
+        Property<Integer> source = new SimpleObjectProperty<>(1) {
+            @Override
+            public void addListener(InvalidationListener listener) {
+                listenerCount.inc();
+                super.addListener(listener);
+            }
+
+            @Override
+            public void removeListener(InvalidationListener listener) {
+                listenerCount.dec();
+                super.removeListener(listener);
+            }
+        };
+        Property<Property<Integer>> outer = new SimpleObjectProperty<>(source);
+        EasyBinding<Integer> mapped = lazy.map(source, x -> x * 2);
+        EasyBinding<Integer> combined = lazy.combine(source, source, (x, y) -> x + y);
+        EasyBinding<Integer> sum = lazy.combine(FXCollections.observableArrayList(source), stream -> stream.reduce(0, Integer::sum));
+        EasyBinding<Integer> flat = lazy.mapObservable(outer, p -> p);
+        EasyBinding<Integer> selected = lazy.select(outer).selectObject(p -> p);
+
+        // check that the values are computed on demand without listening to the source
+        assertEquals(2, mapped.get().intValue());
+        assertEquals(2, combined.get().intValue());
+        assertEquals(1, sum.get().intValue());
+        assertEquals(1, flat.get().intValue());
+        assertEquals(1, selected.get().intValue());
+        assertEquals(0, listenerCount.get());
+        source.setValue(2);
+        assertEquals(4, mapped.get().intValue());
+        assertEquals(4, combined.get().intValue());
+        assertEquals(2, sum.get().intValue());
+        assertEquals(2, flat.get().intValue());
+        assertEquals(2, selected.get().intValue());
+
+        // check that observed bindings listen to the source
+        Counter counter = new Counter();
+        InvalidationListener listener = obs -> counter.inc();
+        for (EasyBinding<Integer> binding : List.of(mapped, combined, sum, flat, selected)) {
+            binding.addListener(listener);
+        }
+        assertTrue(listenerCount.get() > 0);
+        source.setValue(3);
+        assertEquals(5, counter.getAndReset());
+        assertEquals(6, mapped.get().intValue());
+        assertEquals(6, combined.get().intValue());
+        assertEquals(3, sum.get().intValue());
+        assertEquals(3, flat.get().intValue());
+        assertEquals(3, selected.get().intValue());
+
+        // check that the bindings stop listening once they are no longer observed
+        for (EasyBinding<Integer> binding : List.of(mapped, combined, sum, flat, selected)) {
+            binding.removeListener(listener);
+        }
+        assertEquals(0, listenerCount.get());
+        source.setValue(4);
+        assertEquals(0, counter.get());
+        assertEquals(8, mapped.get().intValue());
+        assertEquals(4, selected.get().intValue());
+    }
+
+    @Test
+    public void optionsOnlyApplyToBindingsCreatedWithThem() {
+        BindingLifecycle lazy = BindingLifecycle.DEFAULT.withLazy(true);
+        assertFalse(BindingLifecycle.DEFAULT.isLazy());
+        assertTrue(lazy.isLazy());
+
+        Property<Integer> source = new SimpleObjectProperty<>(1);
+        EasyBinding<Integer> lazyMapped = lazy.map(source, x -> x * 2);
+        EasyBinding<Integer> eagerMapped = EasyBind.map(source, x -> x * 3);
+        Counter counter = new Counter();
+        lazyMapped.addListener(obs -> counter.inc());
+        eagerMapped.addListener(obs -> counter.inc());
+        assertEquals(2, lazyMapped.get().intValue());
+        assertEquals(3, eagerMapped.get().intValue());
+
+        // a lazy chain on top of an eager binding does not change the eager binding
+        EasyBinding<Integer> chained = lazy.map(eagerMapped, x -> x + 1);
+        assertEquals(4, chained.get().intValue());
+        source.setValue(2);
+        assertEquals(2, counter.getAndReset());
+        assertEquals(7, chained.get().intValue());
+    }
+
+    @Test
+    public void disposedLazyBindingsDoNotListenAgain() {
+        BindingLifecycle lazy = BindingLifecycle.DEFAULT.withLazy(true);
+
+        Counter listenerCount = new Counter();
+        Property<Integer> source = new SimpleObjectProperty<>(1) {
+            @Override
+            public void addListener(InvalidationListener listener) {
+                listenerCount.inc();
+                super.addListener(listener);
+            }
+
+            @Override
+            public void removeListener(InvalidationListener listener) {
+                listenerCount.dec();
+                super.removeListener(listener);
+            }
+        };
+        Property<Property<Integer>> outer = new SimpleObjectProperty<>(source);
+        EasyBinding<Integer> mapped = lazy.map(source, x -> x * 2);
+        EasyBinding<Integer> selected = lazy.select(outer).selectObject(p -> p);
+        InvalidationListener listener = obs -> { };
+        mapped.addListener(listener);
+        selected.addListener(listener);
+        assertEquals(3, mapped.get() + selected.get());
+
+        mapped.dispose();
+        selected.dispose();
+        assertEquals(0, listenerCount.get());
+
+        // check that adding and removing listeners does not attach the disposed bindings again
+        mapped.removeListener(listener);
+        mapped.addListener(listener);
+        selected.addListener(obs -> { });
+        assertEquals(0, listenerCount.get());
+
+        // check that the disposed bindings keep their last value
+        source.setValue(5);
+        assertEquals(2, mapped.get().intValue());
+        assertEquals(1, selected.get().intValue());
+    }
+}
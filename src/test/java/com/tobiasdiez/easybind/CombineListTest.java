@@ -1,5 +1,8 @@
 package com.tobiasdiez.easybind;
 
+import java.util.ArrayList;
+import java.util.List;
+import javafx.beans.InvalidationListener;
 import javafx.beans.binding.Binding;
 import javafx.beans.property.Property;
 import javafx.beans.property.SimpleObjectProperty;
@@ -62,4 +65,40 @@ public class CombineListTest {
         assertEquals(0, counter.getAndReset());
     }
 
+    @Test
+    public void bindingsShareListenerOnElements() {
+        Counter listenerCount = new Counter();
+        Property<Integer> a = new SimpleObjectProperty<>(1) {
+            @Override
+            public void addListener(InvalidationListener listener) {
+                listenerCount.inc();
+                super.addListener(listener);
+            }
+
+            @Override
+            public void removeListener(InvalidationListener listener) {
+                listenerCount.dec();
+                super.removeListener(listener);
+            }
+        };
+        Property<Integer> b = new SimpleObjectProperty<>(2);
+        ObservableList<Property<Integer>> list = FXCollections.observableArrayList(a, b);
+
+        List<Binding<Integer>> sums = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            sums.add(EasyBind.combine(list, stream -> stream.reduce((x, y) -> x + y).orElse(0)));
+        }
+        assertEquals(1, listenerCount.get());
+
+        // check that all bindings are still notified, also after the elements were reordered
+        list.setAll(b, a);
+        FXCollections.sort(list, (x, y) -> x.getValue() - y.getValue());
+        sums.forEach(sum -> assertEquals(3, sum.getValue().intValue()));
+        a.setValue(4);
+        sums.forEach(sum -> assertEquals(6, sum.getValue().intValue()));
+
+        // check that the listener is removed once all bindings are disposed
+        sums.forEach(Binding::dispose);
+        assertEquals(0, listenerCount.get());
+    }
 }
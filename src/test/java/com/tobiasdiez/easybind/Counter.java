@@ -7,6 +7,10 @@ class Counter {
         count += 1;
     }
 
+    public void dec() {
+        count -= 1;
+    }
+
     public int get() {
         return count;
     }
@@ -0,0 +1,112 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.TransformationList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DistinctTest {
+
+    @Test
+    public void keepsFirstOccurrences() {
+        ObservableList<String> source = FXCollections.observableArrayList("a", "b", "a", "c", "b");
+        EasyObservableList<String> distinct = EasyBind.wrapList(source).distinct();
+        assertEquals(List.of("a", "b", "c"), distinct);
+
+        source.remove(0);
+        assertEquals(List.of("b", "a", "c"), distinct);
+
+        source.add(0, "c");
+        assertEquals(List.of("c", "b", "a"), distinct);
+
+        source.removeAll("b");
+        assertEquals(List.of("c", "a"), distinct);
+    }
+
+    @Test
+    public void duplicateDoesNotFireChange() {
+        ObservableList<String> source = FXCollections.observableArrayList("a", "b");
+        EasyObservableList<String> distinct = EasyBind.wrapList(source).distinct();
+        Counter counter = new Counter();
+        distinct.addListener((ListChangeListener<String>) change -> counter.inc());
+
+        source.add("a");
+        source.remove(2);
+        assertEquals(0, counter.get());
+
+        source.add("c");
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    public void staysDistinctUnderRandomChanges() {
+        ScriptedList<IntegerProperty> properties = new ScriptedList<>();
+        EasyObservableList<Integer> distinct = EasyBind.map(properties, IntegerProperty::get).distinct();
+
+        // replay the changes of the distinct list on a copy to check that they are correct
+        List<Integer> replayed = new ArrayList<>();
+        EasyBind.bindContent(replayed, distinct);
+
+        RandomChanges<IntegerProperty> changes = new RandomChanges<>(new Random(11),
+                random -> new SimpleIntegerProperty(random.nextInt(20)), (property, random) -> property.set(random.nextInt(20)));
+        for (int i = 0; i < 1000; i++) {
+            changes.apply(properties);
+
+            List<Integer> expected = properties.stream().map(IntegerProperty::get).distinct().collect(Collectors.toList());
+            assertEquals(expected, distinct);
+            assertEquals(expected, replayed);
+
+            TransformationList<Integer, ?> view = (TransformationList<Integer, ?>) distinct;
+            for (int j = 0; j < view.size(); j++) {
+                assertEquals(j, view.getViewIndex(view.getSourceIndex(j)));
+            }
+        }
+    }
+
+    @Test
+    public void removalOfSeveralOccurrencesInOneChange() {
+        ObservableList<Integer> source = FXCollections.observableArrayList(9, 1, 2, 6, 2, 5, 9);
+        EasyObservableList<Integer> distinct = EasyBind.wrapList(source).distinct();
+        List<Integer> replayed = new ArrayList<>();
+        EasyBind.bindContent(replayed, distinct);
+
+        source.setAll(6, 2, 9, 5, 9, 2, 2);
+        assertEquals(List.of(6, 2, 9, 5), distinct);
+        assertEquals(distinct, replayed);
+    }
+
+    @Test
+    public void staysDistinctUnderRandomBulkChanges() {
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        EasyObservableList<Integer> distinct = EasyBind.wrapList(source).distinct();
+        List<Integer> replayed = new ArrayList<>();
+        EasyBind.bindContent(replayed, distinct);
+
+        Random random = new Random(13);
+        for (int i = 0; i < 500; i++) {
+            if (random.nextBoolean()) {
+                List<Integer> elements = new ArrayList<>();
+                for (int j = random.nextInt(12); j > 0; j--) {
+                    elements.add(random.nextInt(10));
+                }
+                source.setAll(elements);
+            } else {
+                int removed = random.nextInt(10);
+                source.removeIf(element -> element == removed || random.nextInt(4) == 0);
+            }
+
+            assertEquals(source.stream().distinct().collect(Collectors.toList()), distinct);
+            assertEquals(distinct, replayed);
+        }
+    }
+}
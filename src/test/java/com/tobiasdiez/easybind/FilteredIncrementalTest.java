@@ -0,0 +1,104 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import javafx.beans.Observable;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FilteredIncrementalTest {
+
+    @Test
+    public void monotoneUpdatesOnlyRetestAffectedElements() {
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 100; i++) {
+            source.add(i);
+        }
+        AtomicInteger tests = new AtomicInteger();
+        IncrementalFilteredList<Integer> filtered = EasyBind.wrapList(source).filteredIncremental(i -> i < 50);
+        List<Integer> replayed = new ArrayList<>();
+        EasyBind.bindContent(replayed, filtered);
+
+        filtered.tightenPredicate(i -> {
+            tests.incrementAndGet();
+            return i < 10;
+        });
+        assertEquals(50, tests.getAndSet(0));
+        assertEquals(10, filtered.size());
+
+        filtered.loosenPredicate(i -> {
+            tests.incrementAndGet();
+            return i < 20;
+        });
+        assertEquals(90, tests.getAndSet(0));
+        assertEquals(20, filtered.size());
+
+        filtered.setPredicate(i -> {
+            tests.incrementAndGet();
+            return i % 2 == 0;
+        });
+        assertEquals(100, tests.get());
+        assertEquals(source.stream().filter(i -> i % 2 == 0).collect(Collectors.toList()), filtered);
+        assertEquals(filtered, replayed);
+    }
+
+    @Test
+    public void extractorRetestsElement() {
+        ObservableList<IntegerProperty> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 5; i++) {
+            source.add(new SimpleIntegerProperty(i));
+        }
+        IncrementalFilteredList<IntegerProperty> filtered =
+                EasyBind.wrapList(source).filteredIncremental(property -> property.get() % 2 == 0, property -> new Observable[]{property});
+        assertEquals(List.of(source.get(0), source.get(2), source.get(4)), filtered);
+
+        source.get(1).set(10);
+        assertEquals(List.of(source.get(0), source.get(1), source.get(2), source.get(4)), filtered);
+
+        source.get(0).set(11);
+        assertEquals(List.of(source.get(1), source.get(2), source.get(4)), filtered);
+    }
+
+    @Test
+    public void observablePredicate() {
+        ObservableList<Integer> source = FXCollections.observableArrayList(1, 2, 3, 4);
+        ObjectProperty<Predicate<? super Integer>> predicate = new SimpleObjectProperty<>(i -> i > 2);
+        EasyObservableList<Integer> filtered = EasyBind.wrapList(source).filteredIncremental(predicate);
+        assertEquals(List.of(3, 4), filtered);
+
+        predicate.set(i -> i < 2);
+        assertEquals(List.of(1), filtered);
+    }
+
+    @Test
+    public void staysFilteredUnderRandomChanges() {
+        ScriptedList<IntegerProperty> source = new ScriptedList<>();
+        IncrementalFilteredList<IntegerProperty> filtered = EasyBind.wrapList(source).filteredIncremental(property -> property.get() % 3 != 0);
+
+        // replay the changes of the filtered list on a copy to check that they are correct
+        List<IntegerProperty> replayed = new ArrayList<>();
+        EasyBind.bindContent(replayed, filtered);
+
+        RandomChanges<IntegerProperty> changes = new RandomChanges<>(new Random(5),
+                random -> new SimpleIntegerProperty(random.nextInt(50)), (property, random) -> property.set(random.nextInt(50)));
+        for (int i = 0; i < 1000; i++) {
+            changes.apply(source);
+
+            List<IntegerProperty> expected = source.stream().filter(property -> property.get() % 3 != 0).collect(Collectors.toList());
+            assertEquals(expected, filtered);
+            assertEquals(expected, replayed);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import javafx.beans.Observable;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableMap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class GroupingByTest {
+
+    @Test
+    public void groupsByKey() {
+        ObservableList<String> source = FXCollections.observableArrayList("apple", "avocado", "banana", "cherry");
+        ObservableMap<Character, EasyObservableList<String>> groups = EasyBind.wrapList(source).groupingBy(word -> word.charAt(0));
+        assertEquals(Map.of('a', List.of("apple", "avocado"), 'b', List.of("banana"), 'c', List.of("cherry")), groups);
+
+        source.add(1, "apricot");
+        assertEquals(List.of("apple", "apricot", "avocado"), groups.get('a'));
+
+        source.remove("banana");
+        assertFalse(groups.containsKey('b'));
+
+        assertThrows(UnsupportedOperationException.class, () -> groups.put('d', null));
+    }
+
+    @Test
+    public void onlyAffectedGroupChanges() {
+        ObservableList<String> source = FXCollections.observableArrayList("apple", "banana");
+        ObservableMap<Character, EasyObservableList<String>> groups = EasyBind.wrapList(source).groupingBy(word -> word.charAt(0));
+        Counter aChanges = new Counter();
+        Counter bChanges = new Counter();
+        Counter mapChanges = new Counter();
+        groups.get('a').addListener((ListChangeListener<String>) change -> aChanges.inc());
+        groups.get('b').addListener((ListChangeListener<String>) change -> bChanges.inc());
+        groups.addListener((MapChangeListener<Character, EasyObservableList<String>>) change -> mapChanges.inc());
+
+        source.addAll("apricot", "avocado");
+        assertEquals(1, aChanges.get());
+        assertEquals(0, bChanges.get());
+        assertEquals(0, mapChanges.get());
+
+        source.add("cherry");
+        assertEquals(1, mapChanges.get());
+        assertEquals(List.of("cherry"), groups.get('c'));
+    }
+
+    @Test
+    public void extractorMovesElementsBetweenGroups() {
+        ObservableList<IntegerProperty> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 6; i++) {
+            source.add(new SimpleIntegerProperty(i));
+        }
+        ObservableMap<Boolean, EasyObservableList<IntegerProperty>> groups =
+                EasyBind.wrapList(source).groupingBy(property -> property.get() % 2 == 0, property -> new Observable[]{property});
+        assertEquals(List.of(0, 2, 4), values(groups.get(true)));
+
+        source.get(3).set(10);
+        assertEquals(List.of(0, 2, 10, 4), values(groups.get(true)));
+        assertEquals(List.of(1, 5), values(groups.get(false)));
+
+        source.get(1).set(12);
+        source.get(5).set(14);
+        assertFalse(groups.containsKey(false));
+    }
+
+    @Test
+    public void groupsStayConsistentUnderRandomChanges() {
+        ScriptedList<IntegerProperty> source = new ScriptedList<>();
+        ObservableMap<Integer, EasyObservableList<IntegerProperty>> groups = EasyBind.wrapList(source).groupingBy(property -> property.get() % 5);
+
+        // replay the changes of every group on a copy to check that they are correct
+        Map<Integer, List<IntegerProperty>> replayed = new HashMap<>();
+        groups.addListener((MapChangeListener<Integer, EasyObservableList<IntegerProperty>>) change -> {
+            if (change.wasAdded()) {
+                List<IntegerProperty> copy = new ArrayList<>();
+                EasyBind.bindContent(copy, change.getValueAdded());
+                replayed.put(change.getKey(), copy);
+            }
+        });
+
+        RandomChanges<IntegerProperty> changes = new RandomChanges<>(new Random(3),
+                random -> new SimpleIntegerProperty(random.nextInt(50)), (property, random) -> property.set(random.nextInt(50)));
+        for (int i = 0; i < 1000; i++) {
+            changes.apply(source);
+
+            Map<Integer, List<IntegerProperty>> expected = source.stream().collect(Collectors.groupingBy(property -> property.get() % 5));
+            assertEquals(expected, groups);
+            groups.forEach((key, group) -> assertEquals(group, replayed.get(key)));
+        }
+    }
+
+    private static List<Integer> values(List<IntegerProperty> properties) {
+        return properties.stream().map(IntegerProperty::get).collect(Collectors.toList());
+    }
+}
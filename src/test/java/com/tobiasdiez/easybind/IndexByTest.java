@@ -0,0 +1,96 @@
+package com.tobiasdiez.easybind;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableMap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class IndexByTest {
+
+    @Test
+    public void indexesByKey() {
+        ObservableList<String> source = FXCollections.observableArrayList("apple", "banana");
+        ObservableMap<Character, String> index = EasyBind.wrapList(source).indexBy(word -> word.charAt(0));
+        assertEquals(Map.of('a', "apple", 'b', "banana"), index);
+
+        source.add("avocado");
+        assertEquals("apple", index.get('a'));
+
+        source.remove("apple");
+        assertEquals("avocado", index.get('a'));
+
+        source.remove("banana");
+        assertFalse(index.containsKey('b'));
+        assertNull(index.get('b'));
+
+        assertThrows(UnsupportedOperationException.class, () -> index.put('c', "cherry"));
+    }
+
+    @Test
+    public void onlyChangedKeysFireChanges() {
+        ObservableList<String> source = FXCollections.observableArrayList("apple", "banana");
+        ObservableMap<Character, String> index = EasyBind.wrapList(source).indexBy(word -> word.charAt(0));
+        Counter changes = new Counter();
+        index.addListener((MapChangeListener<Character, String>) change -> changes.inc());
+
+        source.add("avocado");
+        FXCollections.sort(source, Comparator.reverseOrder());
+        assertEquals(0, changes.get());
+
+        source.add("cherry");
+        assertEquals(1, changes.get());
+    }
+
+    @Test
+    public void multiIndexOnlyReplacesValuesOfChangedKeys() {
+        String apple = "apple";
+        ObservableList<String> source = FXCollections.observableArrayList(apple, "banana", apple);
+        ObservableMap<Character, List<String>> index = EasyBind.wrapList(source).multiIndexBy(word -> word.charAt(0));
+        List<String> withA = index.get('a');
+        assertEquals(List.of(apple, apple), withA);
+
+        source.add("blueberry");
+        assertSame(withA, index.get('a'));
+        assertEquals(List.of("banana", "blueberry"), index.get('b'));
+
+        source.add(0, "avocado");
+        source.remove(1);
+        assertEquals(List.of(apple, apple), withA);
+        assertEquals(List.of(apple, "avocado"), index.get('a'));
+    }
+
+    @Test
+    public void multiIndexStaysConsistentUnderRandomChanges() {
+        ScriptedList<IntegerProperty> source = new ScriptedList<>();
+        ObservableMap<Integer, List<IntegerProperty>> index = EasyBind.wrapList(source).multiIndexBy(property -> property.get() % 7);
+
+        RandomChanges<IntegerProperty> changes = new RandomChanges<>(new Random(13),
+                random -> new SimpleIntegerProperty(random.nextInt(50)), (property, random) -> property.set(random.nextInt(50)));
+        for (int i = 0; i < 1000; i++) {
+            changes.apply(source);
+
+            Map<Integer, List<Integer>> expected = source.stream().collect(Collectors.groupingBy(property -> property.get() % 7,
+                    Collectors.mapping(IntegerProperty::get, Collectors.toList())));
+            assertEquals(expected.keySet(), index.keySet());
+            // The order within a bucket is the order of addition, so only the content is compared
+            expected.forEach((key, values) -> assertEquals(
+                    values.stream().sorted().collect(Collectors.toList()),
+                    index.get(key).stream().map(IntegerProperty::get).sorted().collect(Collectors.toList())));
+        }
+    }
+}
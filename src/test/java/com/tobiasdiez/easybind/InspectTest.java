@@ -0,0 +1,92 @@
+package com.tobiasdiez.easybind;
+
+import java.util.List;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.Property;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InspectTest {
+
+    @AfterEach
+    public void disableMetrics() {
+        BindingGraph.setMetricsEnabled(false);
+    }
+
+    @Test
+    public void inspectReportsDependenciesAndMetrics() {
+        BindingGraph.setMetricsEnabled(true);
+
+        Property<Integer> a = new SimpleObjectProperty<>(1);
+        Property<Integer> b = new SimpleObjectProperty<>(2);
+        Property<Property<Integer>> selected = new SimpleObjectProperty<>(b);
+        EasyBinding<Integer> doubled = EasyBind.map(a, x -> 2 * x);
+        EasyBinding<Integer> flat = EasyBind.mapObservable(selected, p -> p);
+        EasyBinding<Integer> sum = EasyBind.combine(doubled, flat, Integer::sum);
+        sum.addListener(obs -> {
+        });
+
+        assertEquals(4, sum.getValue().intValue());
+        a.setValue(2);
+        assertEquals(6, sum.getValue().intValue());
+
+        List<BindingGraph.Node> nodes = EasyBind.inspect(sum).getNodes();
+        // sum, doubled, flat, a, selected, b
+        assertEquals(6, nodes.size());
+        BindingGraph.Node sumNode = nodes.get(0);
+        assertEquals(List.of(1, 2), sumNode.getDependencies());
+        assertEquals(1, sumNode.getListenerCount().getAsInt());
+        assertEquals(1, sumNode.getInvalidationCount().getAsLong());
+        assertEquals(2, sumNode.getRecomputeCount().getAsLong());
+        assertEquals(List.of(3), nodes.get(1).getDependencies());
+        assertEquals(List.of(4, 5), nodes.get(2).getDependencies());
+        assertEquals(1, nodes.get(4).getSharedListenerCount());
+        assertFalse(nodes.get(3).getListenerCount().isPresent());
+
+        String dot = EasyBind.inspect(sum).toDot();
+        assertTrue(dot.startsWith("digraph"));
+        assertTrue(dot.contains("n1 -> n0;"));
+        String json = EasyBind.inspect(sum).toJson();
+        assertTrue(json.contains("{\"id\":0,"));
+        assertTrue(json.contains("\"dependencies\":[1,2]"));
+    }
+
+    @Test
+    public void inspectReportsListenerCountOnlyIfCountedWithMetrics() {
+        Property<Integer> a = new SimpleObjectProperty<>(1);
+        EasyBinding<Integer> flat = EasyBind.mapObservable(new SimpleObjectProperty<>(a), p -> p);
+        InvalidationListener first = obs -> {
+        };
+        InvalidationListener second = obs -> {
+        };
+        ChangeListener<Integer> third = (obs, oldValue, newValue) -> {
+        };
+        assertEquals(0, EasyBind.inspect(flat).getNodes().get(0).getListenerCount().getAsInt());
+
+        // listeners added without metrics are not counted
+        flat.addListener(first);
+        assertFalse(EasyBind.inspect(flat).getNodes().get(0).getListenerCount().isPresent());
+        flat.removeListener(first);
+        assertEquals(0, EasyBind.inspect(flat).getNodes().get(0).getListenerCount().getAsInt());
+
+        BindingGraph.setMetricsEnabled(true);
+        flat.addListener(first);
+        flat.addListener(second);
+        flat.addListener(third);
+        assertEquals(3, EasyBind.inspect(flat).getNodes().get(0).getListenerCount().getAsInt());
+
+        flat.removeListener(first);
+        assertEquals(2, EasyBind.inspect(flat).getNodes().get(0).getListenerCount().getAsInt());
+
+        flat.removeListener(second);
+        flat.removeListener(third);
+        assertEquals(0, EasyBind.inspect(flat).getNodes().get(0).getListenerCount().getAsInt());
+    }
+}
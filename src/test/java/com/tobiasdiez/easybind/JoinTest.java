@@ -0,0 +1,98 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JoinTest {
+
+    @Test
+    public void joinsMatchingElements() {
+        ObservableList<String> orders = FXCollections.observableArrayList("alice:book", "bob:pen", "alice:lamp");
+        ObservableList<String> customers = FXCollections.observableArrayList("alice", "carol");
+        EasyObservableList<String> joined = EasyBind.join(orders, customers, order -> order.split(":")[0], customer -> customer,
+                (order, customer) -> customer + " ordered " + order.split(":")[1]);
+        assertEquals(List.of("alice ordered book", "alice ordered lamp"), joined);
+
+        customers.add("bob");
+        assertEquals(List.of("alice ordered book", "alice ordered lamp", "bob ordered pen"), joined);
+
+        customers.remove("alice");
+        assertEquals(List.of("bob ordered pen"), joined);
+
+        orders.add("carol:cup");
+        assertEquals(List.of("bob ordered pen", "carol ordered cup"), joined);
+    }
+
+    @Test
+    public void changeOnlyAffectsMatchingRows() {
+        ObservableList<Integer> left = FXCollections.observableArrayList();
+        ObservableList<Integer> right = FXCollections.observableArrayList();
+        for (int i = 0; i < 100; i++) {
+            left.add(i);
+            right.add(i);
+        }
+        EasyObservableList<String> joined = EasyBind.join(left, right, l -> l % 10, r -> r % 10, (l, r) -> l + "-" + r);
+        assertEquals(1000, joined.size());
+
+        Counter removed = new Counter();
+        Counter added = new Counter();
+        joined.addListener((ListChangeListener<String>) change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(row -> removed.inc());
+                for (int i = 0; i < change.getAddedSize(); i++) {
+                    added.inc();
+                }
+            }
+        });
+        right.remove(Integer.valueOf(42));
+        assertEquals(10, removed.get());
+        assertEquals(0, added.get());
+        assertEquals(990, joined.size());
+    }
+
+    @Test
+    public void staysConsistentUnderRandomChanges() {
+        ScriptedList<IntegerProperty> left = new ScriptedList<>();
+        ObservableList<Integer> right = FXCollections.observableArrayList();
+        EasyObservableList<String> joined = EasyBind.join(left, right, l -> l.get() % 5, r -> r % 5, (l, r) -> l.get() + "-" + r);
+
+        // replay the changes of the joined list on a copy to check that they are correct
+        List<String> replayed = new ArrayList<>();
+        EasyBind.bindContent(replayed, joined);
+
+        Random random = new Random(17);
+        RandomChanges<IntegerProperty> leftChanges = new RandomChanges<>(random,
+                r -> new SimpleIntegerProperty(r.nextInt(20)), (property, r) -> property.set(r.nextInt(20)));
+        RandomChanges<Integer> rightChanges = new RandomChanges<>(random, r -> r.nextInt(20));
+        for (int i = 0; i < 500; i++) {
+            if (random.nextBoolean()) {
+                leftChanges.apply(left);
+            } else {
+                rightChanges.apply(right);
+            }
+
+            List<String> expected = new ArrayList<>();
+            for (IntegerProperty l : left) {
+                for (Integer r : right) {
+                    if (l.get() % 5 == r % 5) {
+                        expected.add(l.get() + "-" + r);
+                    }
+                }
+            }
+            // The order of the rows depends on the history of changes, so only the content is compared
+            assertEquals(expected.stream().sorted().collect(Collectors.toList()), joined.stream().sorted().collect(Collectors.toList()));
+            assertEquals(joined, replayed);
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.tobiasdiez.easybind;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ListBindText {
 
@@ -31,4 +36,184 @@ public class ListBindText {
         assertEquals(Arrays.asList("a", "a", "c"), target);
     }
 
+    @Test
+    public void permutationIsAppliedInPlace() {
+        ObservableList<String> source = FXCollections.observableArrayList("d", "b", "a", "c");
+        ObservableList<String> target = FXCollections.observableArrayList();
+        List<String> plainTarget = new ArrayList<>();
+        EasyBind.bindContent(target, source);
+        EasyBind.bindContent(plainTarget, source);
+
+        List<Boolean> permutations = new ArrayList<>();
+        target.addListener((ListChangeListener<String>) change -> {
+            while (change.next()) {
+                permutations.add(change.wasPermutated());
+            }
+        });
+
+        FXCollections.sort(source);
+        assertEquals(Arrays.asList("a", "b", "c", "d"), target);
+        assertEquals(Arrays.asList("a", "b", "c", "d"), plainTarget);
+        assertEquals(Arrays.asList(true), permutations);
+
+        // check that lists with duplicates are still permuted correctly
+        String a = "a";
+        source.setAll(a, "c", a, "b");
+        FXCollections.sort(source);
+        assertEquals(Arrays.asList("a", "a", "b", "c"), target);
+        assertEquals(Arrays.asList("a", "a", "b", "c"), plainTarget);
+        assertTrue(permutations.size() > 1);
+    }
+
+    @Test
+    public void permutationOfPartIsApplied() {
+        String x = "x";
+        ScriptedList<String> source = new ScriptedList<>(x, "c", "a", "b", x);
+        ObservableList<String> target = FXCollections.observableArrayList();
+        List<String> plainTarget = new ArrayList<>();
+        EasyBind.bindContent(target, source);
+        EasyBind.bindContent(plainTarget, source);
+
+        source.permute(1, 4, new int[]{3, 1, 2});
+        assertEquals(Arrays.asList("x", "a", "b", "c", "x"), source);
+        assertEquals(source, target);
+        assertEquals(source, plainTarget);
+    }
+
+    @Test
+    public void adjacentPartsAreAppliedAsSingleReplacement() {
+        ScriptedList<Integer> source = new ScriptedList<>(1, 2, 3, 4, 5, 6);
+        ObservableList<Integer> target = FXCollections.observableArrayList();
+        List<Integer> plainTarget = new ArrayList<>();
+        EasyBind.bindContent(target, source);
+        EasyBind.bindContent(plainTarget, source);
+
+        List<Integer> removedSizes = new ArrayList<>();
+        target.addListener((ListChangeListener<Integer>) change -> {
+            while (change.next()) {
+                removedSizes.add(change.getRemovedSize());
+            }
+        });
+        source.replaceInParts(
+                ScriptedList.part(1, Arrays.asList(2), 7),
+                ScriptedList.part(2, Arrays.asList(3, 4), 8, 9),
+                ScriptedList.part(5, Arrays.asList(6)));
+        assertEquals(Arrays.asList(1, 7, 8, 9, 5), target);
+        assertEquals(source, plainTarget);
+        // the first two parts replace their range at once, the last part is applied on its own
+        assertEquals(Arrays.asList(3, 0, 1), removedSizes);
+    }
+
+    @Test
+    public void scatteredPartsAreAppliedSeparately() {
+        ObservableList<Integer> source = FXCollections.observableArrayList(1, 2, 3, 4, 5, 6);
+        ObservableList<Integer> target = FXCollections.observableArrayList();
+        EasyBind.bindContent(target, source);
+
+        List<Integer> removedSizes = new ArrayList<>();
+        target.addListener((ListChangeListener<Integer>) change -> {
+            while (change.next()) {
+                removedSizes.add(change.getRemovedSize());
+            }
+        });
+
+        // removes several non-contiguous ranges in a single change, which are not replaced as a whole in the target
+        source.removeAll(2, 4, 6);
+        assertEquals(Arrays.asList(1, 3, 5), target);
+        assertEquals(Arrays.asList(1, 1, 1), removedSizes);
+        removedSizes.clear();
+
+        source.set(1, 4);
+        assertEquals(Arrays.asList(1, 4, 5), target);
+        assertEquals(Arrays.asList(1), removedSizes);
+    }
+
+    @Test
+    public void replacementOfRangeOnlyChangesRange() {
+        ScriptedList<Integer> source = new ScriptedList<>(1, 2, 3, 4, 5, 6);
+        ObservableList<Integer> target = FXCollections.observableArrayList();
+        EasyBind.bindContent(target, source);
+
+        List<Integer> removedSizes = new ArrayList<>();
+        target.addListener((ListChangeListener<Integer>) change -> {
+            while (change.next()) {
+                removedSizes.add(change.getRemovedSize());
+            }
+        });
+        source.replace(1, 3, 7, 8);
+        assertEquals(Arrays.asList(1, 7, 8, 4, 5, 6), target);
+        // only the replaced range is removed from the target instead of replacing the whole content
+        assertEquals(Arrays.asList(2, 0), removedSizes);
+    }
+
+    @Test
+    public void snapshotMirrorsSource() {
+        ObservableList<Integer> source = FXCollections.observableArrayList(3, 1, 2);
+        SnapshotMirror<Integer> mirror = EasyBind.bindSnapshot(source);
+        List<Integer> initial = mirror.get();
+        assertEquals(Arrays.asList(3, 1, 2), initial);
+
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            switch (random.nextInt(5)) {
+                case 0:
+                    source.add(random.nextInt(source.size() + 1), i);
+                    break;
+                case 1:
+                    source.addAll(random.nextInt(source.size() + 1), Arrays.asList(i, i + 1, i + 2));
+                    break;
+                case 2:
+                    if (!source.isEmpty()) {
+                        int from = random.nextInt(source.size());
+                        source.remove(from, Math.min(source.size(), from + random.nextInt(3) + 1));
+                    }
+                    break;
+                case 3:
+                    if (!source.isEmpty()) {
+                        source.set(random.nextInt(source.size()), -i);
+                    }
+                    break;
+                default:
+                    FXCollections.sort(source);
+                    break;
+            }
+            assertEquals(source, mirror.get());
+        }
+
+        // check that earlier snapshots are not affected and the mirror stops after unsubscribing
+        assertEquals(Arrays.asList(3, 1, 2), initial);
+        List<Integer> last = mirror.get();
+        mirror.unsubscribe();
+        source.add(1000);
+        assertEquals(last, mirror.get());
+    }
+
+    @Test
+    public void snapshotOfEasyObservableList() {
+        EasyObservableList<String> list = EasyBind.wrapList(FXCollections.observableArrayList("a", "b"));
+        List<String> first = list.snapshot();
+        assertEquals(Arrays.asList("a", "b"), first);
+
+        list.add(1, "c");
+        list.remove("a");
+        List<String> second = list.snapshot();
+        assertEquals(Arrays.asList("c", "b"), second);
+        assertEquals(Arrays.asList("a", "b"), first);
+        // check that unchanged lists return the same snapshot
+        assertTrue(second == list.snapshot());
+    }
+
+    @Test
+    public void snapshotReflectsChangeWhileEarlierListenersAreNotified() {
+        EasyObservableList<String> list = EasyBind.wrapList(FXCollections.observableArrayList("a", "b"));
+        List<List<String>> seen = new ArrayList<>();
+        list.addListener((ListChangeListener<String>) change -> seen.add(list.snapshot()));
+        assertEquals(Arrays.asList("a", "b"), list.snapshot());
+
+        list.set(0, "c");
+        list.add("d");
+        list.remove("b");
+        assertEquals(Arrays.asList(Arrays.asList("c", "b"), Arrays.asList("c", "b", "d"), Arrays.asList("c", "d")), seen);
+        assertEquals(Arrays.asList("c", "d"), list.snapshot());
+    }
 }
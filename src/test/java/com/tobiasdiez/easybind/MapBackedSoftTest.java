@@ -0,0 +1,97 @@
+package com.tobiasdiez.easybind;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MapBackedSoftTest {
+
+    @Test
+    public void convertsElementsOnInsertion() {
+        ObservableList<String> source = FXCollections.observableArrayList("a", "bb");
+        Counter mapped = new Counter();
+        EasyObservableList<Integer> lengths = EasyBind.mapBackedSoft(source, string -> {
+            mapped.inc();
+            return string.length();
+        });
+        assertEquals(2, mapped.getAndReset());
+        assertEquals(List.of(1, 2), lengths);
+        assertEquals(0, mapped.getAndReset());
+
+        source.add(1, "ccc");
+        assertEquals(1, mapped.getAndReset());
+        assertEquals(List.of(1, 3, 2), lengths);
+    }
+
+    @Test
+    public void reclaimedElementsAreConvertedAgain() {
+        ObservableList<String> source = FXCollections.observableArrayList("a", "bb", "ccc");
+        List<Reference<Integer>> references = new ArrayList<>();
+        Counter mapped = new Counter();
+        SoftMappedBackedList<Integer, String> lengths = new SoftMappedBackedList<>(source, string -> {
+            mapped.inc();
+            return string.length();
+        }, element -> {
+            Reference<Integer> reference = new SoftReference<>(element);
+            references.add(reference);
+            return reference;
+        });
+        mapped.reset();
+
+        // simulate that the garbage collector reclaims all converted elements
+        references.forEach(Reference::clear);
+        assertEquals(2, lengths.get(1));
+        assertEquals(1, mapped.getAndReset());
+        assertEquals(2, lengths.get(1));
+        assertEquals(0, mapped.getAndReset());
+
+        List<Integer> removed = new ArrayList<>();
+        lengths.addListener((ListChangeListener<Integer>) change -> {
+            while (change.next()) {
+                removed.addAll(change.getRemoved());
+            }
+        });
+        source.remove(0, 2);
+        assertEquals(List.of(1, 2), removed);
+        assertEquals(List.of(3), lengths);
+    }
+
+    @Test
+    public void staysConsistentUnderRandomChanges() {
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        List<Reference<String>> references = new ArrayList<>();
+        SoftMappedBackedList<String, Integer> mapped = new SoftMappedBackedList<>(source, number -> "#" + number, element -> {
+            Reference<String> reference = new SoftReference<>(element);
+            references.add(reference);
+            return reference;
+        });
+
+        // replay the changes of the mapped list on a copy to check that they are correct
+        List<String> replayed = new ArrayList<>();
+        EasyBind.bindContent(replayed, mapped);
+
+        Random random = new Random(29);
+        RandomChanges<Integer> changes = new RandomChanges<>(random, r -> r.nextInt(100));
+        for (int i = 0; i < 1000; i++) {
+            if (random.nextInt(5) == 0) {
+                // simulate that the garbage collector reclaims some converted elements
+                references.stream().filter(reference -> random.nextBoolean()).forEach(Reference::clear);
+            } else {
+                changes.apply(source);
+            }
+
+            assertEquals(source.stream().map(number -> "#" + number).collect(Collectors.toList()), mapped);
+            assertEquals(mapped, replayed);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import javafx.beans.Observable;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MapCachedTest {
+
+    @Test
+    public void cachesMostRecentlyAccessedElements() {
+        ObservableList<String> source = FXCollections.observableArrayList("a", "bb", "ccc");
+        Counter mapped = new Counter();
+        CachedMappedList<Integer, String> lengths = EasyBind.mapCached(source, string -> {
+            mapped.inc();
+            return string.length();
+        }, 2);
+        assertEquals(0, mapped.get());
+
+        assertEquals(1, lengths.get(0));
+        assertEquals(2, lengths.get(1));
+        assertEquals(1, lengths.get(0));
+        assertEquals(2, mapped.get());
+        assertEquals(1, lengths.getHitCount());
+        assertEquals(2, lengths.getMissCount());
+
+        // evicts "bb", which was accessed least recently
+        assertEquals(3, lengths.get(2));
+        assertEquals(1, lengths.getEvictionCount());
+        assertEquals(2, lengths.getCacheSize());
+        assertEquals(2, lengths.get(1));
+        assertEquals(4, mapped.get());
+    }
+
+    @Test
+    public void cacheSurvivesStructuralChanges() {
+        ObservableList<StringBuilder> source = FXCollections.observableArrayList(new StringBuilder("a"), new StringBuilder("b"));
+        CachedMappedList<Object, StringBuilder> wrapped = EasyBind.mapCached(source, builder -> new Object(), 10);
+        Object first = wrapped.get(0);
+        Object second = wrapped.get(1);
+
+        source.add(0, new StringBuilder("c"));
+        FXCollections.reverse(source);
+        assertSame(second, wrapped.get(0));
+        assertSame(first, wrapped.get(1));
+        assertEquals(2, wrapped.getHitCount());
+    }
+
+    @Test
+    public void removedElementsAreReportedFromCacheAndDiscarded() {
+        ObservableList<String> source = FXCollections.observableArrayList("a", "b");
+        CachedMappedList<Object, String> wrapped = EasyBind.mapCached(source, string -> new Object(), 10);
+        Object first = wrapped.get(0);
+
+        List<Object> removed = new ArrayList<>();
+        wrapped.addListener((ListChangeListener<Object>) change -> {
+            while (change.next()) {
+                removed.addAll(change.getRemoved());
+            }
+        });
+        source.remove(0);
+        assertEquals(List.of(first), removed);
+        assertEquals(0, wrapped.getCacheSize());
+    }
+
+    @Test
+    public void updatedElementsAreConvertedAgain() {
+        ObservableList<IntegerProperty> source = FXCollections.observableArrayList(property -> new Observable[]{property});
+        source.add(new SimpleIntegerProperty(1));
+        CachedMappedList<Integer, IntegerProperty> doubled = EasyBind.mapCached(source, property -> 2 * property.get(), 10);
+        assertEquals(2, doubled.get(0));
+
+        List<Integer> updated = new ArrayList<>();
+        doubled.addListener((ListChangeListener<Integer>) change -> {
+            while (change.next()) {
+                if (change.wasUpdated()) {
+                    updated.add(doubled.get(change.getFrom()));
+                }
+            }
+        });
+        source.get(0).set(5);
+        assertEquals(List.of(10), updated);
+        assertEquals(10, doubled.get(0));
+    }
+
+    @Test
+    public void rejectsNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> EasyBind.mapCached(FXCollections.observableArrayList(), Object::toString, 0));
+    }
+
+    @Test
+    public void staysConsistentUnderRandomChanges() {
+        ScriptedList<IntegerProperty> source = new ScriptedList<>();
+        CachedMappedList<String, IntegerProperty> mapped = EasyBind.mapCached(source, property -> "#" + property.get(), 5);
+
+        // replay the changes of the mapped list on a copy to check that they are correct
+        List<String> replayed = new ArrayList<>();
+        EasyBind.bindContent(replayed, mapped);
+
+        // the elements are not modified, since the replayed copy ignores updates
+        Random random = new Random(23);
+        RandomChanges<IntegerProperty> changes = new RandomChanges<>(random, r -> new SimpleIntegerProperty(r.nextInt(100)));
+        for (int i = 0; i < 1000; i++) {
+            if (random.nextInt(5) == 0) {
+                if (!source.isEmpty()) {
+                    mapped.get(random.nextInt(source.size()));
+                }
+            } else {
+                changes.apply(source);
+            }
+
+            assertEquals(source.stream().map(property -> "#" + property.get()).collect(Collectors.toList()), mapped);
+            assertEquals(mapped, replayed);
+        }
+    }
+}
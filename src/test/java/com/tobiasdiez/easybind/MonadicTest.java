@@ -1,11 +1,20 @@
 package com.tobiasdiez.easybind;
 
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.Property;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 
+import com.tobiasdiez.easybind.optional.ObservableOptionalValue;
 import com.tobiasdiez.easybind.optional.OptionalBinding;
 import org.junit.jupiter.api.Test;
 
@@ -52,6 +61,35 @@ public class MonadicTest {
         assertEquals(Optional.of("s2"), flat.getValue());
     }
 
+    @Test
+    public void mapObsDerivedBindingTest() {
+        Property<A> base = new SimpleObjectProperty<>();
+        OptionalBinding<Integer> length = EasyBind.wrapNullable(base).mapObservable(a -> a.b).mapObservable(b -> b.s).mapOpt(String::length);
+
+        Counter invalidationCounter = new Counter();
+        length.addListener(obs -> invalidationCounter.inc());
+        assertEquals(Optional.empty(), length.getValue());
+
+        A a = new A();
+        B b = new B();
+        b.s.setValue("abc");
+        a.b.setValue(b);
+        base.setValue(a);
+        assertEquals(1, invalidationCounter.getAndReset());
+        assertEquals(Optional.of(3), length.getValue());
+
+        b.s.setValue("abcd");
+        assertEquals(1, invalidationCounter.getAndReset());
+        assertEquals(Optional.of(4), length.getValue());
+
+        base.setValue(null);
+        assertEquals(1, invalidationCounter.getAndReset());
+        assertEquals(Optional.empty(), length.getValue());
+
+        b.s.setValue("xyz");
+        assertEquals(0, invalidationCounter.getAndReset());
+    }
+
     @Test
     public void selectPropertyTest() {
         Property<A> base = new SimpleObjectProperty<>();
@@ -158,6 +196,173 @@ public class MonadicTest {
         assertEquals("X", b2.s.getValue());
     }
 
+    @Test
+    public void selectPropertyKeepsBindingIfTargetUnchanged() {
+        Counter bindCounter = new Counter();
+        Property<String> target = new SimpleStringProperty() {
+            @Override
+            public void bind(ObservableValue<? extends String> newObservable) {
+                bindCounter.inc();
+                super.bind(newObservable);
+            }
+        };
+
+        // the source is invalidated whenever the trigger changes, but the mapper always returns the same property
+        IntegerProperty trigger = new SimpleIntegerProperty(0);
+        PropertyBinding<String> selected = EasyBind.map(trigger, i -> target).selectProperty(t -> t);
+        StringProperty source = new SimpleStringProperty("A");
+        selected.bind(source);
+        assertEquals(1, bindCounter.getAndReset());
+
+        Counter invalidationCounter = new Counter();
+        selected.addListener(obs -> invalidationCounter.inc());
+
+        trigger.set(1);
+        assertEquals(1, invalidationCounter.getAndReset());
+        assertEquals("A", selected.getValue());
+        trigger.set(2);
+        assertEquals(1, invalidationCounter.getAndReset());
+        assertEquals("A", selected.getValue());
+        assertEquals(0, bindCounter.getAndReset());
+        assertTrue(target.isBound());
+
+        source.setValue("B");
+        assertEquals(1, invalidationCounter.getAndReset());
+        assertEquals("B", target.getValue());
+        assertEquals("B", selected.getValue());
+    }
+
+    @Test
+    public void fusedOperatorsTest() {
+        Counter listenerCounter = new Counter();
+        StringProperty base = new SimpleStringProperty("abc") {
+            @Override
+            public void addListener(InvalidationListener listener) {
+                listenerCounter.inc();
+                super.addListener(listener);
+            }
+
+            @Override
+            public void removeListener(InvalidationListener listener) {
+                listenerCounter.dec();
+                super.removeListener(listener);
+            }
+        };
+
+        ObservableOptionalValue<String> wrapped = EasyBind.wrapNullable(base);
+        assertEquals(1, listenerCounter.get());
+
+        OptionalBinding<Integer> length = wrapped.mapOpt(String::length);
+        OptionalBinding<Integer> evenLength = length.filter(l -> l % 2 == 0);
+        OptionalBinding<String> result = evenLength.mapOpt(l -> "length " + l);
+        // intermediate bindings do not observe the base as long as nobody observes them
+        assertEquals(1, listenerCounter.get());
+        assertEquals(Optional.of(3), length.getValue());
+        assertEquals(Optional.empty(), result.getValue());
+
+        Counter invalidationCounter = new Counter();
+        InvalidationListener listener = obs -> invalidationCounter.inc();
+        result.addListener(listener);
+        assertEquals(2, listenerCounter.get());
+
+        base.set("abcd");
+        assertEquals(1, invalidationCounter.getAndReset());
+        assertEquals(Optional.of("length 4"), result.getValue());
+        assertEquals(Optional.of(4), evenLength.getValue());
+
+        // observing an intermediate binding materializes it
+        Counter intermediateCounter = new Counter();
+        length.addListener(obs -> intermediateCounter.inc());
+        assertEquals(3, listenerCounter.get());
+        base.set("ab");
+        assertEquals(1, invalidationCounter.getAndReset());
+        assertEquals(1, intermediateCounter.getAndReset());
+        assertEquals(Optional.of(2), length.getValue());
+        assertEquals(Optional.of("length 2"), result.getValue());
+
+        // unobserved bindings detach from the base again
+        result.removeListener(listener);
+        assertEquals(2, listenerCounter.get());
+        base.set(null);
+        assertEquals(0, invalidationCounter.getAndReset());
+        assertEquals(Optional.empty(), result.getValue());
+    }
+
+    @Test
+    public void fusedMapTest() {
+        Counter listenerCounter = new Counter();
+        StringProperty base = new SimpleStringProperty("abc") {
+            @Override
+            public void addListener(InvalidationListener listener) {
+                listenerCounter.inc();
+                super.addListener(listener);
+            }
+
+            @Override
+            public void removeListener(InvalidationListener listener) {
+                listenerCounter.dec();
+                super.removeListener(listener);
+            }
+        };
+
+        EasyBinding<Integer> length = EasyBind.map(base, String::length);
+        EasyBinding<Integer> doubled = length.map(l -> 2 * l);
+        EasyBinding<String> result = doubled.map(l -> "length " + l);
+        // every binding of the chain depends directly on the base
+        assertEquals(3, listenerCounter.get());
+        assertEquals("length 6", result.getValue());
+        assertEquals(6, doubled.getValue());
+
+        Counter invalidationCounter = new Counter();
+        result.addListener(obs -> invalidationCounter.inc());
+        base.set("abcd");
+        assertEquals(1, invalidationCounter.getAndReset());
+        assertEquals("length 8", result.getValue());
+        assertEquals(4, length.getValue());
+        assertEquals(8, doubled.getValue());
+
+        // the intermediate bindings still work when observed directly
+        Counter intermediateCounter = new Counter();
+        doubled.addListener(obs -> intermediateCounter.inc());
+        base.set("ab");
+        assertEquals(1, invalidationCounter.getAndReset());
+        assertEquals(1, intermediateCounter.getAndReset());
+        assertEquals(4, doubled.getValue());
+        assertEquals("length 4", result.getValue());
+
+        // mapping an observed binding does not fuse
+        EasyBinding<Integer> plusOne = doubled.map(l -> l + 1);
+        plusOne.addListener(obs -> { });
+        assertEquals(3, listenerCounter.get());
+        assertEquals(5, plusOne.getValue());
+    }
+
+    @Test
+    public void mapObservableStopsListeningToOldTargetOnSourceChange() {
+        Property<String> first = new SimpleStringProperty("a");
+        Property<String> second = new SimpleStringProperty("b");
+        Property<Property<String>> source = new SimpleObjectProperty<>(first);
+        EasyBinding<String> flat = EasyBind.mapObservable(source, p -> p);
+        flat.addListener(obs -> { });
+        assertEquals("a", flat.get());
+        assertEquals(1, InvalidationMultiplexer.getSubscriberCount(first));
+
+        // the old target is released before the binding is evaluated again
+        source.setValue(second);
+        assertEquals(0, InvalidationMultiplexer.getSubscriberCount(first));
+        assertEquals("b", flat.get());
+        assertEquals(1, InvalidationMultiplexer.getSubscriberCount(second));
+
+        // a source invalidation that keeps the target listens to it again
+        source.setValue(first);
+        source.setValue(second);
+        assertEquals("b", flat.get());
+        assertEquals(0, InvalidationMultiplexer.getSubscriberCount(first));
+        assertEquals(1, InvalidationMultiplexer.getSubscriberCount(second));
+        second.setValue("c");
+        assertEquals("c", flat.get());
+    }
+
     @Test
     public void orElseTest() {
         StringProperty s1 = new SimpleStringProperty("a");
@@ -181,6 +386,113 @@ public class MonadicTest {
         assertEquals(Optional.empty(), firstNonNull.getValue());
     }
 
+    @Test
+    public void orElseIgnoresLaterFallbacksTest() {
+        StringProperty s1 = new SimpleStringProperty("a");
+        StringProperty s2 = new SimpleStringProperty("b");
+        StringProperty s3 = new SimpleStringProperty("c");
+
+        OptionalBinding<String> firstNonNull = EasyBind.wrapNullable(s1).orElseOpt(s2).orElseOpt(s3);
+        Counter invalidationCounter = new Counter();
+        firstNonNull.addListener(obs -> invalidationCounter.inc());
+        assertEquals(Optional.of("a"), firstNonNull.getValue());
+
+        s3.set("x");
+        s2.set("y");
+        assertEquals(0, invalidationCounter.getAndReset());
+
+        s1.set(null);
+        assertEquals(1, invalidationCounter.getAndReset());
+        assertEquals(Optional.of("y"), firstNonNull.getValue());
+
+        s3.set("z");
+        assertEquals(0, invalidationCounter.getAndReset());
+        s2.set(null);
+        assertEquals(1, invalidationCounter.getAndReset());
+        assertEquals(Optional.of("z"), firstNonNull.getValue());
+    }
+
+    @Test
+    public void firstNonNullOfListTest() {
+        StringProperty s1 = new SimpleStringProperty(null);
+        StringProperty s2 = new SimpleStringProperty("b");
+        StringProperty s3 = new SimpleStringProperty("c");
+        ObservableList<StringProperty> chain = FXCollections.observableArrayList(s1, s2);
+
+        OptionalBinding<String> firstNonNull = EasyBind.firstNonNull(chain);
+        Counter invalidationCounter = new Counter();
+        firstNonNull.addListener(obs -> invalidationCounter.inc());
+        assertEquals(Optional.of("b"), firstNonNull.getValue());
+
+        chain.add(0, s3);
+        assertEquals(1, invalidationCounter.getAndReset());
+        assertEquals(Optional.of("c"), firstNonNull.getValue());
+
+        s2.set("x");
+        assertEquals(0, invalidationCounter.getAndReset());
+
+        chain.remove(s3);
+        assertEquals(1, invalidationCounter.getAndReset());
+        assertEquals(Optional.of("x"), firstNonNull.getValue());
+
+        s3.set("y");
+        assertEquals(0, invalidationCounter.getAndReset());
+
+        s1.set("a");
+        assertEquals(1, invalidationCounter.getAndReset());
+        assertEquals(Optional.of("a"), firstNonNull.getValue());
+
+        firstNonNull.dispose();
+        s1.set("d");
+        chain.clear();
+        assertEquals(0, invalidationCounter.getAndReset());
+    }
+
+    @Test
+    public void firstNonNullOfListOnlySubscribesChangedRange() {
+        Counter listenerCounter = new Counter();
+        StringProperty s1 = new SimpleStringProperty(null) {
+            @Override
+            public void addListener(InvalidationListener listener) {
+                listenerCounter.inc();
+                super.addListener(listener);
+            }
+        };
+        StringProperty s2 = new SimpleStringProperty("b");
+        StringProperty s3 = new SimpleStringProperty(null);
+        StringProperty s4 = new SimpleStringProperty("d");
+        ObservableList<StringProperty> chain = FXCollections.observableArrayList(s2, s1);
+
+        OptionalBinding<String> firstNonNull = EasyBind.firstNonNull(chain);
+        Counter invalidationCounter = new Counter();
+        firstNonNull.addListener(obs -> invalidationCounter.inc());
+        assertEquals(Optional.of("b"), firstNonNull.getValue());
+        assertEquals(1, listenerCounter.getAndReset());
+
+        // changes behind the selected observable do not invalidate the binding
+        chain.add(s4);
+        assertEquals(0, invalidationCounter.getAndReset());
+
+        chain.add(0, s3);
+        chain.remove(s2);
+        assertEquals(1, invalidationCounter.getAndReset());
+        assertEquals(Optional.of("d"), firstNonNull.getValue());
+
+        // the shifted observables still notify the binding
+        s1.set("a");
+        assertEquals(1, invalidationCounter.getAndReset());
+        assertEquals(Optional.of("a"), firstNonNull.getValue());
+
+        List<StringProperty> reversed = List.of(s4, s1, s3);
+        FXCollections.sort(chain, Comparator.comparing(reversed::indexOf));
+        assertEquals(Optional.of("d"), firstNonNull.getValue());
+        chain.removeAll(s4, s3);
+        assertEquals(Optional.of("a"), firstNonNull.getValue());
+        s1.set(null);
+        assertEquals(Optional.empty(), firstNonNull.getValue());
+        assertEquals(0, listenerCounter.get());
+    }
+
     private static class A {
         public final Property<B> b = new SimpleObjectProperty<>();
     }
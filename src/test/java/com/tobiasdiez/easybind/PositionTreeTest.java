@@ -0,0 +1,131 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PositionTreeTest {
+
+    @Test
+    public void findsNodesByPositionAndMarkedPosition() {
+        PositionTree<String> tree = new PositionTree<>();
+        List<PositionTree.Node<String>> nodes = new ArrayList<>();
+        for (String element : List.of("a", "b", "c", "d")) {
+            PositionTree.Node<String> node = new PositionTree.Node<>(element);
+            tree.insert(tree.size(), node);
+            nodes.add(node);
+        }
+        tree.setMarked(nodes.get(1), true);
+        tree.setMarked(nodes.get(3), true);
+
+        assertEquals(4, tree.size());
+        assertEquals(2, tree.markedCount());
+        assertEquals("c", tree.get(2).element);
+        assertEquals("d", tree.getMarked(1).element);
+        assertEquals(3, tree.rank(nodes.get(3)));
+        assertEquals(1, tree.markedRank(nodes.get(3)));
+        assertEquals(List.of("b", "d"), elements(tree.nodes(true)));
+        assertEquals(List.of("a", "c"), elements(tree.nodes(false)));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.getMarked(2));
+
+        tree.remove(nodes.get(1));
+        assertEquals(List.of("a", "c", "d"), elements(tree.nodes()));
+        assertEquals(1, tree.markedCount());
+    }
+
+    @Test
+    public void insertsByComparatorBehindEqualElements() {
+        PositionTree<String> tree = new PositionTree<>();
+        Comparator<String> byLength = Comparator.comparingInt(String::length);
+        assertEquals(0, tree.insert(new PositionTree.Node<>("bb"), byLength));
+        assertEquals(0, tree.insert(new PositionTree.Node<>("a"), byLength));
+        assertEquals(2, tree.insert(new PositionTree.Node<>("ccc"), byLength));
+        assertEquals(2, tree.insert(new PositionTree.Node<>("dd"), byLength));
+        assertEquals(List.of("a", "bb", "dd", "ccc"), elements(tree.nodes()));
+    }
+
+    @Test
+    public void buildKeepsOrderAndMarks() {
+        PositionTree<Integer> tree = new PositionTree<>();
+        List<PositionTree.Node<Integer>> nodes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            PositionTree.Node<Integer> node = new PositionTree.Node<>(i);
+            tree.insert(i, node);
+            tree.setMarked(node, i % 3 == 0);
+            nodes.add(node);
+        }
+
+        // rebuild the tree in reverse order
+        List<PositionTree.Node<Integer>> reversed = new ArrayList<>(nodes);
+        Collections.reverse(reversed);
+        tree.build(reversed);
+        assertEquals(reversed, tree.nodes());
+        assertEquals(34, tree.markedCount());
+        for (int i = 0; i < reversed.size(); i++) {
+            assertEquals(i, tree.rank(reversed.get(i)));
+        }
+        assertEquals(99, tree.getMarked(0).element.intValue());
+
+        // check that the rebuilt tree can still be modified
+        tree.remove(reversed.get(0));
+        tree.insert(0, new PositionTree.Node<>(-1));
+        assertEquals(-1, tree.get(0).element.intValue());
+        assertEquals(98, tree.get(1).element.intValue());
+        assertEquals(33, tree.markedCount());
+    }
+
+    @Test
+    public void agreesWithListUnderRandomModifications() {
+        Random random = new Random(5);
+        PositionTree<Integer> tree = new PositionTree<>();
+        List<PositionTree.Node<Integer>> expected = new ArrayList<>();
+        for (int step = 0; step < 2000; step++) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    PositionTree.Node<Integer> node = new PositionTree.Node<>(step);
+                    int index = random.nextInt(expected.size() + 1);
+                    tree.insert(index, node);
+                    expected.add(index, node);
+                    break;
+                case 1:
+                    if (!expected.isEmpty()) {
+                        tree.remove(expected.remove(random.nextInt(expected.size())));
+                    }
+                    break;
+                default:
+                    if (!expected.isEmpty()) {
+                        tree.setMarked(expected.get(random.nextInt(expected.size())), random.nextBoolean());
+                    }
+                    break;
+            }
+
+            assertEquals(expected.size(), tree.size());
+            if (!expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.get(index), tree.get(index));
+                assertEquals(index, tree.rank(expected.get(index)));
+            }
+        }
+
+        List<PositionTree.Node<Integer>> marked = expected.stream().filter(node -> node.marked).collect(Collectors.toList());
+        assertEquals(expected, tree.nodes());
+        assertEquals(marked, tree.nodes(true));
+        for (int i = 0; i < marked.size(); i++) {
+            assertEquals(marked.get(i), tree.getMarked(i));
+            assertEquals(i, tree.markedRank(marked.get(i)));
+        }
+    }
+
+    private static <E> List<E> elements(List<PositionTree.Node<E>> nodes) {
+        return nodes.stream().map(node -> node.element).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,129 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * Applies random changes to an observable list, so that tests can check that a view of the list stays consistent.
+ * <p>
+ * Besides additions, removals and replacements of single elements, the changes include permutations, replacements of
+ * the whole list ({@code setAll}), removals of scattered elements in a single change ({@code removeAll}) and, if a
+ * mutator is given, modifications of one or several elements. The modified elements of a {@link ScriptedList} are
+ * reported in a single update change, other lists have to report them through an extractor.
+ */
+class RandomChanges<E> {
+    private final Random random;
+    private final Function<Random, E> newElement;
+    private final BiConsumer<E, Random> mutator;
+
+    RandomChanges(Random random, Function<Random, E> newElement) {
+        this(random, newElement, null);
+    }
+
+    RandomChanges(Random random, Function<Random, E> newElement, BiConsumer<E, Random> mutator) {
+        this.random = random;
+        this.newElement = newElement;
+        this.mutator = mutator;
+    }
+
+    void apply(ObservableList<E> list) {
+        switch (random.nextInt(mutator == null ? 7 : 9)) {
+            case 0:
+                list.add(random.nextInt(list.size() + 1), newElement.apply(random));
+                break;
+            case 1:
+                if (!list.isEmpty()) {
+                    int from = random.nextInt(list.size());
+                    list.remove(from, Math.min(list.size(), from + random.nextInt(3) + 1));
+                }
+                break;
+            case 2:
+                if (!list.isEmpty()) {
+                    list.set(random.nextInt(list.size()), newElement.apply(random));
+                }
+                break;
+            case 3:
+                permute(list);
+                break;
+            case 4:
+                // keeps some of the current elements and adds some new ones
+                List<E> content = new ArrayList<>();
+                for (int i = random.nextInt(list.size() + 4); i > 0; i--) {
+                    content.add(list.isEmpty() || random.nextBoolean() ? newElement.apply(random) : list.get(random.nextInt(list.size())));
+                }
+                list.setAll(content);
+                break;
+            case 5:
+                List<E> removed = new ArrayList<>();
+                for (E element : list) {
+                    if (random.nextInt(3) == 0) {
+                        removed.add(element);
+                    }
+                }
+                list.removeAll(removed);
+                break;
+            case 6:
+                for (int i = random.nextInt(3); i >= 0; i--) {
+                    list.add(random.nextInt(list.size() + 1), newElement.apply(random));
+                }
+                break;
+            case 7:
+                if (!list.isEmpty()) {
+                    mutate(list, new int[]{random.nextInt(list.size())});
+                }
+                break;
+            default:
+                int[] indices = new int[Math.min(list.size(), random.nextInt(4) + 2)];
+                for (int i = 0; i < indices.length; i++) {
+                    indices[i] = random.nextInt(list.size());
+                }
+                mutate(list, indices);
+                break;
+        }
+    }
+
+    private void permute(ObservableList<E> list) {
+        if (list instanceof ScriptedList) {
+            int from = random.nextInt(list.size() + 1);
+            int to = from + random.nextInt(list.size() - from + 1);
+            List<Integer> permutation = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                permutation.add(i);
+            }
+            Collections.shuffle(permutation, random);
+            ((ScriptedList<E>) list).permute(from, to, permutation.stream().mapToInt(Integer::intValue).toArray());
+        } else {
+            Map<E, Integer> keys = new IdentityHashMap<>();
+            list.forEach(element -> keys.computeIfAbsent(element, key -> random.nextInt()));
+            FXCollections.sort(list, Comparator.comparing(keys::get));
+        }
+    }
+
+    private void mutate(ObservableList<E> list, int[] indices) {
+        Set<E> mutated = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int index : indices) {
+            mutator.accept(list.get(index), random);
+            mutated.add(list.get(index));
+        }
+        if (list instanceof ScriptedList) {
+            // like an extractor, reports all positions of the modified elements, as they may occur several times
+            List<Integer> updated = new ArrayList<>();
+            for (int i = 0; i < list.size(); i++) {
+                if (mutated.contains(list.get(i))) {
+                    updated.add(i);
+                }
+            }
+            ((ScriptedList<E>) list).update(updated.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+}
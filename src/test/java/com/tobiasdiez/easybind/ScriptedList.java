@@ -0,0 +1,163 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ModifiableObservableListBase;
+
+/**
+ * Observable list that, besides the usual modifications, fires changes which the lists of JavaFX do not produce, e.g.,
+ * permutations of a part of the list, updates of several elements in a single change or changes whose parts are adjacent.
+ */
+class ScriptedList<E> extends ModifiableObservableListBase<E> {
+    private final List<E> elements;
+
+    @SafeVarargs
+    ScriptedList(E... elements) {
+        this.elements = new ArrayList<>(elements.length);
+        for (E element : elements) {
+            this.elements.add(element);
+        }
+    }
+
+    @Override
+    public E get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    protected void doAdd(int index, E element) {
+        elements.add(index, element);
+    }
+
+    @Override
+    protected E doSet(int index, E element) {
+        return elements.set(index, element);
+    }
+
+    @Override
+    protected E doRemove(int index) {
+        return elements.remove(index);
+    }
+
+    /**
+     * Moves the element at position {@code i} to position {@code permutation[i - from]}, for all {@code i} between
+     * {@code from} and {@code to}.
+     */
+    void permute(int from, int to, int[] permutation) {
+        List<E> permuted = new ArrayList<>(elements.subList(from, to));
+        for (int i = from; i < to; i++) {
+            permuted.set(permutation[i - from] - from, elements.get(i));
+        }
+        for (int i = from; i < to; i++) {
+            elements.set(i, permuted.get(i - from));
+        }
+        beginChange();
+        nextPermutation(from, to, permutation);
+        endChange();
+    }
+
+    /**
+     * Replaces the elements between {@code from} and {@code to} by the given elements in a single change.
+     */
+    @SafeVarargs
+    final void replace(int from, int to, E... added) {
+        List<E> range = elements.subList(from, to);
+        List<E> removed = new ArrayList<>(range);
+        range.clear();
+        for (E element : added) {
+            range.add(element);
+        }
+        beginChange();
+        nextReplace(from, from + added.length, removed);
+        endChange();
+    }
+
+    /**
+     * Reports an update of the elements at the given positions in a single change.
+     */
+    void update(int... indices) {
+        beginChange();
+        for (int index : indices) {
+            nextUpdate(index);
+        }
+        endChange();
+    }
+
+    /**
+     * Applies the given parts one after another and reports them in a single change, without merging adjacent parts
+     * like the lists of JavaFX do. The positions of every part refer to the list after applying the previous parts.
+     */
+    @SafeVarargs
+    final void replaceInParts(Part<E>... parts) {
+        for (Part<E> part : parts) {
+            List<E> range = elements.subList(part.from, part.from + part.removed.size());
+            range.clear();
+            range.addAll(part.added);
+        }
+        fireChange(new PartsChange(parts));
+    }
+
+    @SafeVarargs
+    static <E> Part<E> part(int from, List<E> removed, E... added) {
+        return new Part<>(from, removed, Arrays.asList(added));
+    }
+
+    static final class Part<E> {
+        private final int from;
+        private final List<E> removed;
+        private final List<E> added;
+
+        private Part(int from, List<E> removed, List<E> added) {
+            this.from = from;
+            this.removed = removed;
+            this.added = added;
+        }
+    }
+
+    private class PartsChange extends ListChangeListener.Change<E> {
+        private final Part<E>[] parts;
+        private int cursor = -1;
+
+        PartsChange(Part<E>[] parts) {
+            super(ScriptedList.this);
+            this.parts = parts;
+        }
+
+        @Override
+        public boolean next() {
+            return ++cursor < parts.length;
+        }
+
+        @Override
+        public void reset() {
+            cursor = -1;
+        }
+
+        @Override
+        public int getFrom() {
+            return parts[cursor].from;
+        }
+
+        @Override
+        public int getTo() {
+            return parts[cursor].from + parts[cursor].added.size();
+        }
+
+        @Override
+        public List<E> getRemoved() {
+            return parts[cursor].removed;
+        }
+
+        @Override
+        protected int[] getPermutation() {
+            return new int[0];
+        }
+    }
+}
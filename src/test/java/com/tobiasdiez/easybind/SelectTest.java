@@ -1,7 +1,10 @@
 package com.tobiasdiez.easybind;
 
+import javafx.beans.InvalidationListener;
 import javafx.beans.binding.Binding;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.Property;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 
@@ -77,12 +80,82 @@ public class SelectTest {
         selection.dispose();
     }
 
+    @Test
+    public void reuseUnchangedKeepsConnections() {
+        A a1 = new A();
+        CountingB b1 = new CountingB();
+        b1.s.setValue("s1");
+        a1.b.setValue(b1);
+
+        // the root is invalidated whenever the trigger changes, but keeps holding a1
+        IntegerProperty trigger = new SimpleIntegerProperty(0);
+        Binding<A> root = EasyBind.map(trigger, i -> a1);
+        Binding<String> selection = EasyBind.selectReusingUnchanged(root).select(a -> a.b).selectObject(b -> b.s);
+        Counter counter = new Counter();
+        selection.addListener(obs -> counter.inc());
+
+        assertEquals("s1", selection.getValue());
+        assertEquals(1, b1.listenerAdditions.get());
+
+        trigger.set(1);
+        assertEquals(1, counter.getAndReset());
+        assertEquals("s1", selection.getValue());
+        assertEquals(1, b1.listenerAdditions.get());
+
+        b1.s.setValue("s2");
+        assertEquals(1, counter.getAndReset());
+        assertEquals("s2", selection.getValue());
+
+        // a real change still rewires the chain
+        CountingB b2 = new CountingB();
+        b2.s.setValue("t");
+        a1.b.setValue(b2);
+        assertEquals(1, counter.getAndReset());
+        assertEquals("t", selection.getValue());
+        assertEquals(1, b2.listenerAdditions.get());
+
+        b1.s.setValue("xyz");
+        assertEquals(0, counter.getAndReset());
+
+        selection.dispose();
+        b2.s.setValue("foo");
+        trigger.set(2);
+        assertEquals(0, counter.getAndReset());
+    }
+
     private static class A {
         public final Property<B> b = new SimpleObjectProperty<>();
     }
 
     private static class B {
-        public final Property<String> s = new SimpleStringProperty();
+        public final Property<String> s;
+
+        B() {
+            this(new SimpleStringProperty());
+        }
+
+        B(Property<String> s) {
+            this.s = s;
+        }
+    }
+
+    private static class CountingB extends B {
+        public final Counter listenerAdditions;
+
+        CountingB() {
+            this(new Counter());
+        }
+
+        private CountingB(Counter listenerAdditions) {
+            super(new SimpleStringProperty() {
+                @Override
+                public void addListener(InvalidationListener listener) {
+                    listenerAdditions.inc();
+                    super.addListener(listener);
+                }
+            });
+            this.listenerAdditions = listenerAdditions;
+        }
     }
 
 }
@@ -0,0 +1,119 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import javafx.beans.Observable;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.TransformationList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SortedIncrementalTest {
+
+    @Test
+    public void staysSortedUnderRandomChanges() {
+        ScriptedList<IntegerProperty> source = new ScriptedList<>();
+        Comparator<IntegerProperty> byValue = Comparator.comparingInt(IntegerProperty::get);
+        EasyObservableList<IntegerProperty> sorted = EasyBind.wrapList(source).sortedIncremental(byValue);
+
+        // replay the changes of the sorted list on a copy to check that they are correct
+        List<IntegerProperty> replayed = new ArrayList<>();
+        EasyBind.bindContent(replayed, sorted);
+
+        RandomChanges<IntegerProperty> changes = new RandomChanges<>(new Random(7),
+                random -> new SimpleIntegerProperty(random.nextInt(50)), (property, random) -> property.set(random.nextInt(50)));
+        for (int i = 0; i < 1000; i++) {
+            changes.apply(source);
+
+            List<Integer> expected = source.stream().map(IntegerProperty::get).sorted().collect(Collectors.toList());
+            assertEquals(expected, sorted.stream().map(IntegerProperty::get).collect(Collectors.toList()));
+            assertEquals(sorted, replayed);
+
+            TransformationList<IntegerProperty, ?> view = (TransformationList<IntegerProperty, ?>) sorted;
+            for (int j = 0; j < view.size(); j++) {
+                assertEquals(view.get(j), source.get(view.getSourceIndex(j)));
+                assertEquals(j, view.getViewIndex(view.getSourceIndex(j)));
+            }
+        }
+    }
+
+    @Test
+    public void singleAdditionFiresSingleChange() {
+        ObservableList<Integer> source = FXCollections.observableArrayList(5, 1, 3);
+        EasyObservableList<Integer> sorted = EasyBind.wrapList(source).sortedIncremental(Comparator.<Integer>naturalOrder());
+        List<String> changes = new ArrayList<>();
+        sorted.addListener((ListChangeListener<Integer>) change -> {
+            while (change.next()) {
+                changes.add(change.toString());
+            }
+        });
+
+        source.add(2);
+        assertEquals(List.of(1, 2, 3, 5), sorted);
+        assertEquals(1, changes.size());
+    }
+
+    @Test
+    public void changingComparatorResorts() {
+        ObservableList<Integer> source = FXCollections.observableArrayList(5, 1, 3);
+        ObjectProperty<Comparator<? super Integer>> comparator = new SimpleObjectProperty<>(Comparator.naturalOrder());
+        EasyObservableList<Integer> sorted = EasyBind.wrapList(source).sortedIncremental(comparator);
+        List<Integer> replayed = new ArrayList<>();
+        EasyBind.bindContent(replayed, sorted);
+        assertEquals(List.of(1, 3, 5), sorted);
+
+        comparator.set(Comparator.reverseOrder());
+        assertEquals(List.of(5, 3, 1), sorted);
+        assertEquals(sorted, replayed);
+    }
+
+    @Test
+    public void updateOfSeveralElementsInOneChangeKeepsOrder() {
+        // the shape of the tree is random, so the scenario is repeated to cover different shapes
+        for (int run = 0; run < 20; run++) {
+            IntegerProperty[] elements = new IntegerProperty[8];
+            int[] values = {5, 8, 7, 3, 4, 4, 4, 6};
+            for (int i = 0; i < values.length; i++) {
+                elements[i] = new SimpleIntegerProperty(values[i]);
+            }
+            ScriptedList<IntegerProperty> source = new ScriptedList<>(elements);
+            EasyObservableList<IntegerProperty> sorted = EasyBind.wrapList(source).sortedIncremental(Comparator.comparingInt(IntegerProperty::get));
+            List<IntegerProperty> replayed = new ArrayList<>();
+            EasyBind.bindContent(replayed, sorted);
+
+            source.get(1).set(3);
+            source.get(4).set(7);
+            source.get(6).set(3);
+            source.update(1, 4, 6);
+            assertEquals(List.of(3, 3, 3, 4, 5, 6, 7, 7), sorted.stream().map(IntegerProperty::get).collect(Collectors.toList()));
+            assertEquals(sorted, replayed);
+        }
+    }
+
+    @Test
+    public void equalElementsKeepSourceOrder() {
+        ObservableList<IntegerProperty> source = FXCollections.observableArrayList(property -> new Observable[]{property});
+        for (int i = 0; i < 4; i++) {
+            source.add(new SimpleIntegerProperty(i));
+        }
+        EasyObservableList<IntegerProperty> unsorted = EasyBind.wrapList(source).sortedIncremental((Comparator<IntegerProperty>) null);
+
+        source.get(0).set(42);
+        source.add(0, new SimpleIntegerProperty(-1));
+        assertEquals(List.of(-1, 42, 1, 2, 3), unsorted.stream().map(IntegerProperty::get).collect(Collectors.toList()));
+
+        FXCollections.sort(source, Comparator.comparingInt(IntegerProperty::get).reversed());
+        assertEquals(List.of(42, 3, 2, 1, -1), unsorted.stream().map(IntegerProperty::get).collect(Collectors.toList()));
+    }
+}
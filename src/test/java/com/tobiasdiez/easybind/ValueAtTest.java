@@ -0,0 +1,179 @@
+package com.tobiasdiez.easybind;
+
+import java.util.Optional;
+import java.util.TreeMap;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableMap;
+
+import com.tobiasdiez.easybind.optional.OptionalBinding;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ValueAtTest {
+
+    @Test
+    public void listValueAtIgnoresChangesBehindIndex() {
+        ObservableList<String> list = FXCollections.observableArrayList("a", "b", "c");
+        OptionalBinding<String> second = EasyBind.valueAt(list, 1);
+        Counter counter = new Counter();
+        second.addListener(obs -> counter.inc());
+        assertEquals(Optional.of("b"), second.getValue());
+
+        list.add("d");
+        list.set(2, "x");
+        list.remove(3);
+        assertEquals(0, counter.getAndReset());
+
+        list.add(0, "z");
+        assertEquals(1, counter.getAndReset());
+        assertEquals(Optional.of("a"), second.getValue());
+
+        list.set(1, "y");
+        assertEquals(1, counter.getAndReset());
+        assertEquals(Optional.of("y"), second.getValue());
+
+        list.remove(0, 3);
+        assertEquals(1, counter.getAndReset());
+        assertEquals(Optional.empty(), second.getValue());
+
+        list.add("b");
+        assertEquals(1, counter.getAndReset());
+        assertEquals(Optional.of("b"), second.getValue());
+
+        second.dispose();
+        list.clear();
+        assertEquals(0, counter.getAndReset());
+    }
+
+    @Test
+    public void listValueAtObservableIndex() {
+        ObservableList<String> list = FXCollections.observableArrayList("a", "b", "c");
+        IntegerProperty index = new SimpleIntegerProperty(0);
+        OptionalBinding<String> value = EasyBind.valueAt(list, index);
+        Counter counter = new Counter();
+        value.addListener(obs -> counter.inc());
+        assertEquals(Optional.of("a"), value.getValue());
+
+        index.set(2);
+        assertEquals(1, counter.getAndReset());
+        assertEquals(Optional.of("c"), value.getValue());
+
+        list.add("d");
+        assertEquals(0, counter.getAndReset());
+
+        list.remove("b");
+        assertEquals(1, counter.getAndReset());
+        assertEquals(Optional.of("d"), value.getValue());
+
+        index.set(-1);
+        assertEquals(1, counter.getAndReset());
+        assertEquals(Optional.empty(), value.getValue());
+
+        list.add(0, "x");
+        assertEquals(0, counter.getAndReset());
+    }
+
+    @Test
+    public void mapValueAtOnlyInvalidatedByItsKey() {
+        ObservableMap<String, Integer> map = FXCollections.observableHashMap();
+        map.put("a", 1);
+        OptionalBinding<Integer> a = EasyBind.valueAt(map, "a", true);
+        OptionalBinding<Integer> b = EasyBind.valueAt(map, "b", true);
+        OptionalBinding<Integer> otherA = EasyBind.valueAt(map, "a", true);
+        Counter counterA = new Counter();
+        Counter counterB = new Counter();
+        Counter counterOtherA = new Counter();
+        a.addListener(obs -> counterA.inc());
+        b.addListener(obs -> counterB.inc());
+        otherA.addListener(obs -> counterOtherA.inc());
+        assertEquals(Optional.of(1), a.getValue());
+        assertEquals(Optional.empty(), b.getValue());
+        assertEquals(Optional.of(1), otherA.getValue());
+
+        map.put("c", 3);
+        assertEquals(0, counterA.getAndReset());
+        assertEquals(0, counterB.getAndReset());
+
+        map.put("b", 2);
+        assertEquals(0, counterA.getAndReset());
+        assertEquals(1, counterB.getAndReset());
+        assertEquals(Optional.of(2), b.getValue());
+
+        map.put("a", 5);
+        assertEquals(1, counterA.getAndReset());
+        assertEquals(1, counterOtherA.getAndReset());
+        assertEquals(0, counterB.getAndReset());
+        assertEquals(Optional.of(5), a.getValue());
+        assertEquals(Optional.of(5), otherA.getValue());
+
+        a.dispose();
+        map.remove("a");
+        assertEquals(0, counterA.getAndReset());
+        assertEquals(1, counterOtherA.getAndReset());
+        assertEquals(Optional.empty(), otherA.getValue());
+
+        b.dispose();
+        otherA.dispose();
+        map.put("b", 3);
+        map.put("a", 3);
+        assertEquals(0, counterB.getAndReset());
+        assertEquals(0, counterOtherA.getAndReset());
+
+        // bindings can be created again after all previous ones were disposed
+        OptionalBinding<Integer> newB = EasyBind.valueAt(map, "b", true);
+        Counter counterNewB = new Counter();
+        newB.addListener(obs -> counterNewB.inc());
+        assertEquals(Optional.of(3), newB.getValue());
+        map.put("b", 4);
+        assertEquals(1, counterNewB.getAndReset());
+        assertEquals(Optional.of(4), newB.getValue());
+    }
+
+    @Test
+    public void mapValueAtRespectsKeyComparisonOfSortedMap() {
+        ObservableMap<String, Integer> map = FXCollections.observableMap(new TreeMap<>(String.CASE_INSENSITIVE_ORDER));
+        map.put("a", 1);
+        OptionalBinding<Integer> a = EasyBind.valueAt(map, "a");
+        Counter counter = new Counter();
+        a.addListener(obs -> counter.inc());
+        assertEquals(Optional.of(1), a.getValue());
+
+        map.put("A", 2);
+        assertEquals(1, counter.getAndReset());
+        assertEquals(Optional.of(2), a.getValue());
+    }
+
+    @Test
+    public void mapValueAtOfIndexOnlyInvalidatedByItsKey() {
+        ObservableList<String> list = FXCollections.observableArrayList("a1", "b1");
+        ObservableMap<Character, String> index = EasyBind.wrapList(list).indexBy(s -> s.charAt(0));
+        OptionalBinding<String> a = EasyBind.valueAt(index, 'a');
+        Counter counter = new Counter();
+        a.addListener(obs -> counter.inc());
+        assertEquals(Optional.of("a1"), a.getValue());
+
+        list.set(1, "b2");
+        assertEquals(0, counter.getAndReset());
+        list.set(0, "a2");
+        assertEquals(1, counter.getAndReset());
+        assertEquals(Optional.of("a2"), a.getValue());
+    }
+
+    @Test
+    public void mapValueAtOfOtherMapInvalidatedByEveryChange() {
+        ObservableMap<String, Integer> map = FXCollections.observableHashMap();
+        OptionalBinding<Integer> a = EasyBind.valueAt(map, "a");
+        Counter counter = new Counter();
+        a.addListener(obs -> counter.inc());
+        assertEquals(Optional.empty(), a.getValue());
+
+        // it is unknown how the map compares its keys
+        map.put("b", 1);
+        assertEquals(1, counter.getAndReset());
+        assertEquals(Optional.empty(), a.getValue());
+    }
+}
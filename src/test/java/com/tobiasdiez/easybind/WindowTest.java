@@ -0,0 +1,100 @@
+package com.tobiasdiez.easybind;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class WindowTest {
+
+    @Test
+    public void showsElementsInsideWindow() {
+        ObservableList<Integer> source = FXCollections.observableArrayList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        IntegerProperty from = new SimpleIntegerProperty(2);
+        IntegerProperty to = new SimpleIntegerProperty(5);
+        EasyObservableList<Integer> window = EasyBind.wrapList(source).window(from, to);
+        assertEquals(List.of(2, 3, 4), window);
+
+        from.set(4);
+        to.set(7);
+        assertEquals(List.of(4, 5, 6), window);
+
+        to.set(20);
+        assertEquals(List.of(4, 5, 6, 7, 8, 9), window);
+    }
+
+    @Test
+    public void changesBehindWindowAreIgnored() {
+        ObservableList<Integer> source = FXCollections.observableArrayList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        EasyObservableList<Integer> window = EasyBind.wrapList(source).window(new SimpleIntegerProperty(2), new SimpleIntegerProperty(5));
+        Counter changes = new Counter();
+        window.addListener((ListChangeListener<Integer>) change -> changes.inc());
+
+        source.add(10);
+        source.remove(7);
+        source.set(5, 50);
+        assertEquals(0, changes.get());
+    }
+
+    @Test
+    public void mapperOnlyRunsInsideWindow() {
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 10_000; i++) {
+            source.add(i);
+        }
+        Counter mapped = new Counter();
+        EasyObservableList<Integer> window = EasyBind.wrapList(source)
+                .<Integer>mapped(i -> {
+                    mapped.inc();
+                    return i * 2;
+                })
+                .window(new SimpleIntegerProperty(100), new SimpleIntegerProperty(150));
+        assertEquals(50, window.size());
+        assertEquals(50, mapped.getAndReset());
+
+        source.add(5000, -1);
+        source.remove(9000);
+        assertEquals(0, mapped.getAndReset());
+    }
+
+    @Test
+    public void staysConsistentUnderRandomChanges() {
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 30; i++) {
+            source.add(i);
+        }
+        IntegerProperty from = new SimpleIntegerProperty(5);
+        IntegerProperty to = new SimpleIntegerProperty(15);
+        EasyObservableList<Integer> window = EasyBind.wrapList(source).window(from, to);
+
+        // replay the changes of the window on a copy to check that they are correct
+        List<Integer> replayed = new ArrayList<>();
+        EasyBind.bindContent(replayed, window);
+
+        Random random = new Random(19);
+        AtomicInteger next = new AtomicInteger(100);
+        RandomChanges<Integer> changes = new RandomChanges<>(random, r -> next.getAndIncrement());
+        for (int i = 0; i < 2000; i++) {
+            if (random.nextInt(6) == 0) {
+                from.set(random.nextInt(40));
+                to.set(random.nextInt(40));
+            } else {
+                changes.apply(source);
+            }
+
+            int start = Math.max(0, Math.min(from.get(), source.size()));
+            int end = Math.max(start, Math.min(to.get(), source.size()));
+            assertEquals(source.subList(start, end), window);
+            assertEquals(window, replayed);
+        }
+    }
+}